@@ -3,7 +3,8 @@ package com.example.Evora.Analytics;
 import javafx.beans.property.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import com.example.Evora.Database.DatabaseConfig;
+import com.example.Evora.Pets.ExperienceService;
+import com.example.Evora.Database.DatabaseConnection;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.*;
@@ -24,39 +25,34 @@ public class AnalyticsController {
     private final IntegerProperty currentStreak = new SimpleIntegerProperty(0);
     private final IntegerProperty longestStreak = new SimpleIntegerProperty(0);
     private final IntegerProperty productivityScore = new SimpleIntegerProperty(0);
+    private final IntegerProperty userXP = new SimpleIntegerProperty(0);
 
     // Data for charts
     private final ObservableList<WeeklyData> weeklyData = FXCollections.observableArrayList();
     private final ObservableList<MoodDistribution> moodDistribution = FXCollections.observableArrayList();
     private final ObservableList<Achievement> achievements = FXCollections.observableArrayList();
 
+    // Per-query timing of the last refresh
+    private final QueryTimings queryTimings = new QueryTimings();
+
     public AnalyticsController(int userId, String userName) {
         this.userId = userId;
         this.userName = userName;
-        refreshData();
+        // Nothing is loaded yet: call refreshData() off the FX thread (see AnalyticsView)
     }
 
-    // Get user XP from database
+    // User XP as loaded by the last refresh
     public int getUserXP() {
-        String sql = "SELECT experience FROM Users WHERE user_id = ?";
-
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
+        return userXP.get();
+    }
 
-            if (rs.next()) {
-                return rs.getInt("experience");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return 0;
+    // Held in memory by ExperienceService, so no query
+    private void loadUserXP() {
+        userXP.set(ExperienceService.getExperience());
     }
 
     // Get real achievements from database with user progress
-    public List<Achievement> getRealAchievements() {
+    private List<Achievement> loadAchievements(Connection conn) {
         List<Achievement> achievements = new ArrayList<>();
         String sql = """
             SELECT 
@@ -82,23 +78,11 @@ public class AnalyticsController {
                         (SELECT COUNT(*) FROM StickyNotes WHERE user_id = ?)
                     WHEN b.condition_type = 'mood_entries' THEN 
                         (SELECT COUNT(*) FROM MoodLogger WHERE user_id = ?)
-                    WHEN b.condition_type = 'streak_days' THEN 
-                        -- Calculate current streak from all activity data
-                        (SELECT COUNT(*) FROM (
-                            SELECT DISTINCT activity_date 
-                            FROM (
-                                SELECT CAST(created_at as DATE) as activity_date FROM ToDoTasks WHERE user_id = ? AND is_completed = 1
-                                UNION
-                                SELECT CAST(deleted_at as DATE) as activity_date FROM TaskDeletionLog WHERE user_id = ? AND is_completed = 1
-                                UNION
-                                SELECT CAST(start_time as DATE) as activity_date FROM PomodoroSessions WHERE user_id = ? AND status = 'Completed'
-                                UNION
-                                SELECT CAST(entry_date as DATE) as activity_date FROM MoodLogger WHERE user_id = ?
-                                UNION
-                                SELECT CAST(created_at as DATE) as activity_date FROM StickyNotes WHERE user_id = ?
-                            ) all_activities
-                            WHERE activity_date IS NOT NULL
-                        ) user_activities)
+                    WHEN b.condition_type = 'streak_days' THEN
+                        -- Active days from the daily activity rollup
+                        (SELECT COUNT(*) FROM UserDailyActivity
+                         WHERE user_id = ? AND (tasks_completed > 0 OR pomodoros > 0
+                                                OR mood_value IS NOT NULL OR notes_created > 0))
                     ELSE 0
                 END as current_progress
             FROM Badges b
@@ -106,23 +90,14 @@ public class AnalyticsController {
             ORDER BY b.badge_id
             """;
 
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            // Set all 11 parameters
-            stmt.setInt(1, userId);
-            stmt.setInt(2, userId);
-            stmt.setInt(3, userId);
-            stmt.setInt(4, userId);
-            stmt.setInt(5, userId);
-            stmt.setInt(6, userId);
-            stmt.setInt(7, userId);
-            stmt.setInt(8, userId);
-            stmt.setInt(9, userId);
-            stmt.setInt(10, userId);
-            stmt.setInt(11, userId);
-
-            ResultSet rs = stmt.executeQuery();
+            // Set all 7 parameters
+            for (int i = 1; i <= 7; i++) {
+                stmt.setInt(i, userId);
+            }
+
+            ResultSet rs = queryTimings.time("achievements", stmt::executeQuery);
 
             while (rs.next()) {
                 String emoji = getEmojiForBadge(rs.getString("badge_icon"));
@@ -176,8 +151,13 @@ public class AnalyticsController {
         }
     }
 
-    public void setTimeRange(String timeRange) {
-        this.currentTimeRange = timeRange.toLowerCase();
+    // Blocks on the database; synchronized so overlapping reloads run one after the other
+    public synchronized void setTimeRange(String timeRange) {
+        String range = timeRange.toLowerCase();
+        if (range.equals(currentTimeRange)) {
+            return; // already showing this range
+        }
+        this.currentTimeRange = range;
         refreshData();
     }
 
@@ -185,33 +165,31 @@ public class AnalyticsController {
         return currentTimeRange;
     }
 
-    private void refreshData() {
-        loadStatistics();
-        generateWeeklyData();
-        generateMoodDistribution();
-        generateAchievements();
+    // All queries of one refresh share a single pooled connection
+    public synchronized void refreshData() {
+        DailyActivityService.backfillIfNeeded(userId);
+        queryTimings.start();
+        try (Connection conn = queryTimings.time("borrow connection", DatabaseConnection::getConnection)) {
+            loadStatistics(conn);
+            generateWeeklyData(conn);
+            generateMoodDistribution(conn);
+            generateAchievements(conn);
+            loadUserXP();
+        } catch (SQLException e) {
+            System.err.println("Error refreshing analytics: " + e.getMessage());
+            e.printStackTrace();
+        }
+        queryTimings.finish();
+        System.out.println("📊 Analytics refresh (" + currentTimeRange + "): " + queryTimings);
     }
 
-    private Connection getConnection() throws SQLException {
-        try {
-            Class.forName(DatabaseConfig.getDriver());
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("Database driver not found", e);
-        }
-        return DriverManager.getConnection(
-                DatabaseConfig.getUrl(),
-                DatabaseConfig.getUsername(),
-                DatabaseConfig.getPassword()
-        );
+    public QueryTimings getQueryTimings() {
+        return queryTimings;
     }
 
-    private void loadStatistics() {
-        try (Connection conn = getConnection()) {
-            loadTaskStatistics(conn);
-            loadPomodoroStatistics(conn);
-            loadMoodStatistics(conn);
-            loadStreakStatistics(conn);
-            loadProductivityScore(conn);
+    private void loadStatistics(Connection conn) {
+        try {
+            loadDailyStatistics(conn);
         } catch (SQLException e) {
             System.err.println("Error loading statistics: " + e.getMessage());
             e.printStackTrace();
@@ -219,194 +197,74 @@ public class AnalyticsController {
         }
     }
 
-    private void loadTaskStatistics(Connection conn) throws SQLException {
-        // Get completed tasks count for current time range
-        String completedSql = """
-            SELECT COUNT(*) as completed_count
-            FROM (
-                SELECT task_id FROM ToDoTasks 
-                WHERE user_id = ? AND is_completed = 1 
-                AND created_at """ + getDateFilterForTasks() + """
-                UNION ALL
-                SELECT log_id FROM TaskDeletionLog 
-                WHERE user_id = ? AND is_completed = 1
-                AND deleted_at """ + getDateFilterForTasks() + """
-            ) combined_tasks
-            """;
-
-        try (PreparedStatement stmt = conn.prepareStatement(completedSql)) {
-            stmt.setInt(1, userId);
-            stmt.setInt(2, userId);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                tasksCompleted.set(rs.getInt("completed_count"));
-            }
-        }
-
-        // Total tasks count for current time range
-        totalTasks.set(getTotalTasksCount(conn));
-    }
-
-    private int getTotalTasksCount(Connection conn) throws SQLException {
-        String sql = "SELECT ("
-                + "    SELECT COUNT(*) FROM ToDoTasks WHERE user_id = ? " + getDateFilterForToDoTasks()
-                + "    ) + ("
-                + "    SELECT COUNT(*) FROM TaskDeletionLog WHERE user_id = ? " + getDateFilterForToDoTasks()
-                + ") as total";
+    /*
+     * Every KPI of the selected time range comes from one narrow range scan over the
+     * UserDailyActivity rollup (at most 366 rows), folded here into the totals, the streak
+     * dates and the active-day count.
+     */
+    private void loadDailyStatistics(Connection conn) throws SQLException {
+        DailyActivityService.ensureSchema(conn);
+        String sql = """
+            SELECT activity_date, tasks_created, tasks_completed, pomodoros, focus_minutes, mood_value, notes_created
+            FROM UserDailyActivity
+            WHERE user_id = ? AND activity_date >= CAST({since} AS DATE)
+            ORDER BY activity_date
+            """.replace("{since}", getRangeStart());
+
+        int completed = 0;
+        int created = 0;
+        int pomodoros = 0;
+        int minutes = 0;
+        int moods = 0;
+        double moodTotal = 0;
+        int activeDays = 0;
+        StreakEngine streaks = new StreakEngine();
 
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, userId);
-            stmt.setInt(2, userId);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt("total");
-            }
-        }
-        return 0;
-    }
+            ResultSet rs = queryTimings.time("daily statistics", stmt::executeQuery);
 
-    private void loadPomodoroStatistics(Connection conn) throws SQLException {
-        String dateFilter = getDateFilterForPomodoro();
-        String sessionSql = "SELECT COUNT(*) as sessions FROM PomodoroSessions " +
-                "WHERE user_id = ? AND status = 'Completed' " + dateFilter;
-
-        try (PreparedStatement stmt = conn.prepareStatement(sessionSql)) {
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                pomodoroSessions.set(rs.getInt("sessions"));
-            }
-        }
-
-        focusMinutes.set(pomodoroSessions.get() * 25);
-    }
-
-    private void loadMoodStatistics(Connection conn) throws SQLException {
-        String dateFilter = getDateFilterForMood();
-
-        String countSql = "SELECT COUNT(*) as entries FROM MoodLogger WHERE user_id = ? " + dateFilter;
-        try (PreparedStatement stmt = conn.prepareStatement(countSql)) {
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                moodEntries.set(rs.getInt("entries"));
-            }
-        }
-
-        String avgSql = "SELECT AVG(CAST(mood_value as FLOAT)) as avg_mood FROM MoodLogger " +
-                "WHERE user_id = ? " + dateFilter;
-        try (PreparedStatement stmt = conn.prepareStatement(avgSql)) {
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                double avg = rs.getDouble("avg_mood");
-                averageMood.set(rs.wasNull() ? 0.0 : Math.round(avg * 10.0) / 10.0);
-            }
-        }
-    }
-
-    private void loadStreakStatistics(Connection conn) throws SQLException {
-        // Calculate streaks from all activity data within current time range
-        String activitySql = """
-            SELECT DISTINCT activity_date 
-            FROM (
-                -- Current task completions
-                SELECT CAST(created_at as DATE) as activity_date 
-                FROM ToDoTasks 
-                WHERE user_id = ? AND is_completed = 1
-                """ + getDateFilterForToDoTasks() + """
-                UNION
-                -- Historical completed tasks from deletion log
-                SELECT CAST(deleted_at as DATE) as activity_date 
-                FROM TaskDeletionLog 
-                WHERE user_id = ? AND is_completed = 1
-                """ + getDateFilterForToDoTasks() + """
-                UNION
-                -- Pomodoro sessions
-                SELECT CAST(start_time as DATE) as activity_date 
-                FROM PomodoroSessions 
-                WHERE user_id = ? AND status = 'Completed'
-                """ + getDateFilterForPomodoro() + """
-                UNION
-                -- Mood entries
-                SELECT CAST(entry_date as DATE) as activity_date 
-                FROM MoodLogger 
-                WHERE user_id = ?
-                """ + getDateFilterForMood() + """
-                UNION
-                -- Sticky notes
-                SELECT CAST(created_at as DATE) as activity_date 
-                FROM StickyNotes 
-                WHERE user_id = ?
-                """ + getDateFilterForToDoTasks() + """
-            ) activities
-            WHERE activity_date IS NOT NULL
-            ORDER BY activity_date DESC
-            """;
-
-        try (PreparedStatement stmt = conn.prepareStatement(activitySql)) {
-            stmt.setInt(1, userId);
-            stmt.setInt(2, userId);
-            stmt.setInt(3, userId);
-            stmt.setInt(4, userId);
-            stmt.setInt(5, userId);
-            ResultSet rs = stmt.executeQuery();
-
-            List<LocalDate> activityDates = new ArrayList<>();
             while (rs.next()) {
-                activityDates.add(rs.getDate("activity_date").toLocalDate());
-            }
-
-            // Calculate streaks
-            int currentStreakCount = calculateCurrentStreak(activityDates);
-            int longestStreakCount = calculateLongestStreak(activityDates);
-
-            currentStreak.set(currentStreakCount);
-            longestStreak.set(longestStreakCount);
-        }
-    }
-
-    private int calculateCurrentStreak(List<LocalDate> activityDates) {
-        if (activityDates.isEmpty()) return 0;
-
-        LocalDate today = LocalDate.now();
-        int streak = 0;
-        LocalDate currentDate = today;
+                int dayCompleted = rs.getInt("tasks_completed");
+                int dayCreated = rs.getInt("tasks_created");
+                int dayPomodoros = rs.getInt("pomodoros");
+                int dayNotes = rs.getInt("notes_created");
+                int mood = rs.getInt("mood_value");
+                boolean hasMood = !rs.wasNull();
+
+                completed += dayCompleted;
+                created += dayCreated;
+                pomodoros += dayPomodoros;
+                minutes += rs.getInt("focus_minutes");
+                if (hasMood) {
+                    moods++;
+                    moodTotal += mood;
+                }
 
-        // Check consecutive days backwards from today
-        while (activityDates.contains(currentDate)) {
-            streak++;
-            currentDate = currentDate.minusDays(1);
+                // Any logged activity keeps the streak going
+                if (dayCompleted > 0 || dayPomodoros > 0 || hasMood || dayNotes > 0) {
+                    streaks.add(rs.getDate("activity_date").toLocalDate());
+                }
+                if (dayCreated > 0 || dayPomodoros > 0 || hasMood) {
+                    activeDays++;
+                }
+            }
         }
 
-        return streak;
-    }
-
-    private int calculateLongestStreak(List<LocalDate> activityDates) {
-        if (activityDates.isEmpty()) return 0;
+        tasksCompleted.set(completed);
+        totalTasks.set(created);
+        pomodoroSessions.set(pomodoros);
+        focusMinutes.set(minutes);
+        moodEntries.set(moods);
+        averageMood.set(moods == 0 ? 0.0 : Math.round(moodTotal / moods * 10.0) / 10.0);
 
-        // Sort dates in ascending order for streak calculation
-        Collections.sort(activityDates);
+        currentStreak.set(streaks.getCurrentStreak(LocalDate.now()));
+        longestStreak.set(streaks.getLongestStreak());
 
-        int longestStreak = 1;
-        int currentStreak = 1;
-
-        for (int i = 1; i < activityDates.size(); i++) {
-            LocalDate currentDate = activityDates.get(i);
-            LocalDate previousDate = activityDates.get(i - 1);
-
-            if (previousDate.plusDays(1).equals(currentDate)) {
-                currentStreak++;
-                longestStreak = Math.max(longestStreak, currentStreak);
-            } else {
-                currentStreak = 1;
-            }
-        }
-
-        return longestStreak;
+        loadProductivityScore(activeDays);
     }
 
-    private void loadProductivityScore(Connection conn) throws SQLException {
+    private void loadProductivityScore(int activeDays) {
         int score = 0;
 
         // Factor 1: Task completion rate (up to 40 points)
@@ -423,7 +281,6 @@ public class AnalyticsController {
         }
 
         // Factor 3: Consistency - active days vs total days in time range (up to 30 points)
-        int activeDays = getActiveDaysCount(conn);
         int totalDaysInRange = getTotalDaysInTimeRange();
         if (totalDaysInRange > 0) {
             double activityRate = Math.min((double) activeDays / totalDaysInRange, 1.0);
@@ -433,33 +290,6 @@ public class AnalyticsController {
         productivityScore.set(Math.min(score, 100));
     }
 
-    private int getActiveDaysCount(Connection conn) throws SQLException {
-        String activitySql = """
-            SELECT COUNT(DISTINCT activity_date) as active_days 
-            FROM (
-                SELECT CAST(created_at as DATE) as activity_date FROM ToDoTasks 
-                WHERE user_id = ? """ + getDateFilterForToDoTasks() + """
-                UNION 
-                SELECT CAST(start_time as DATE) as activity_date FROM PomodoroSessions 
-                WHERE user_id = ? """ + getDateFilterForPomodoro() + """
-                UNION 
-                SELECT CAST(entry_date as DATE) as activity_date FROM MoodLogger 
-                WHERE user_id = ? """ + getDateFilterForMood() + """
-            ) activities
-            """;
-
-        try (PreparedStatement stmt = conn.prepareStatement(activitySql)) {
-            stmt.setInt(1, userId);
-            stmt.setInt(2, userId);
-            stmt.setInt(3, userId);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt("active_days");
-            }
-        }
-        return 0;
-    }
-
     private int getTargetSessionsForTimeRange() {
         switch (currentTimeRange) {
             case "month": return 20;
@@ -478,28 +308,16 @@ public class AnalyticsController {
         }
     }
 
-    // Date filter methods for different tables
-    private String getDateFilterForToDoTasks() {
-        switch (currentTimeRange) {
-            case "month":
-                return "AND created_at >= DATEADD(month, -1, GETDATE())";
-            case "year":
-                return "AND created_at >= DATEADD(year, -1, GETDATE())";
-            case "week":
-            default:
-                return "AND created_at >= DATEADD(day, -7, GETDATE())";
-        }
-    }
-
-    private String getDateFilterForPomodoro() {
+    // Start of the current time range, evaluated by the database
+    private String getRangeStart() {
         switch (currentTimeRange) {
             case "month":
-                return "AND start_time >= DATEADD(month, -1, GETDATE())";
+                return "DATEADD(month, -1, GETDATE())";
             case "year":
-                return "AND start_time >= DATEADD(year, -1, GETDATE())";
+                return "DATEADD(year, -1, GETDATE())";
             case "week":
             default:
-                return "AND start_time >= DATEADD(day, -7, GETDATE())";
+                return "DATEADD(day, -7, GETDATE())";
         }
     }
 
@@ -515,22 +333,10 @@ public class AnalyticsController {
         }
     }
 
-    private String getDateFilterForTasks() {
-        switch (currentTimeRange) {
-            case "month":
-                return ">= DATEADD(month, -1, GETDATE())";
-            case "year":
-                return ">= DATEADD(year, -1, GETDATE())";
-            case "week":
-            default:
-                return ">= DATEADD(day, -7, GETDATE())";
-        }
-    }
-
-    private void generateWeeklyData() {
+    private void generateWeeklyData(Connection conn) {
         weeklyData.clear();
 
-        try (Connection conn = getConnection()) {
+        try {
             String tasksSql = getTasksQuery();
             String pomodoroSql = getPomodoroQuery();
             String moodSql = getMoodQuery();
@@ -544,7 +350,7 @@ public class AnalyticsController {
             try (PreparedStatement stmt = conn.prepareStatement(tasksSql)) {
                 stmt.setInt(1, userId);
                 stmt.setInt(2, userId);
-                ResultSet rs = stmt.executeQuery();
+                ResultSet rs = queryTimings.time("weekly tasks", stmt::executeQuery);
                 while (rs.next()) {
                     String period = rs.getString("period");
                     dailyTasks.put(period, rs.getInt("tasks"));
@@ -553,7 +359,7 @@ public class AnalyticsController {
 
             try (PreparedStatement stmt = conn.prepareStatement(pomodoroSql)) {
                 stmt.setInt(1, userId);
-                ResultSet rs = stmt.executeQuery();
+                ResultSet rs = queryTimings.time("weekly pomodoros", stmt::executeQuery);
                 while (rs.next()) {
                     String period = rs.getString("period");
                     dailyPomodoros.put(period, rs.getInt("pomodoros"));
@@ -562,7 +368,7 @@ public class AnalyticsController {
 
             try (PreparedStatement stmt = conn.prepareStatement(moodSql)) {
                 stmt.setInt(1, userId);
-                ResultSet rs = stmt.executeQuery();
+                ResultSet rs = queryTimings.time("weekly moods", stmt::executeQuery);
                 while (rs.next()) {
                     String period = rs.getString("period");
                     double mood = rs.getDouble("avg_mood");
@@ -795,10 +601,10 @@ public class AnalyticsController {
         }
     }
 
-    private void generateMoodDistribution() {
+    private void generateMoodDistribution(Connection conn) {
         moodDistribution.clear();
 
-        try (Connection conn = getConnection()) {
+        try {
             String dateFilter = getDateFilterForMood();
             String sql = "SELECT " +
                     "SUM(CASE WHEN mood_value = 5 THEN 1 ELSE 0 END) as excellent, " +
@@ -810,7 +616,7 @@ public class AnalyticsController {
 
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setInt(1, userId);
-                ResultSet rs = stmt.executeQuery();
+                ResultSet rs = queryTimings.time("mood distribution", stmt::executeQuery);
 
                 if (rs.next()) {
                     int total = rs.getInt("total");
@@ -842,9 +648,9 @@ public class AnalyticsController {
         );
     }
 
-    private void generateAchievements() {
+    private void generateAchievements(Connection conn) {
         achievements.clear();
-        achievements.addAll(getRealAchievements());
+        achievements.addAll(loadAchievements(conn));
     }
 
     // Getter methods
@@ -857,6 +663,7 @@ public class AnalyticsController {
     public IntegerProperty currentStreakProperty() { return currentStreak; }
     public IntegerProperty longestStreakProperty() { return longestStreak; }
     public IntegerProperty productivityScoreProperty() { return productivityScore; }
+    public IntegerProperty userXPProperty() { return userXP; }
 
     public ObservableList<WeeklyData> getWeeklyData() { return weeklyData; }
     public ObservableList<MoodDistribution> getMoodDistribution() { return moodDistribution; }
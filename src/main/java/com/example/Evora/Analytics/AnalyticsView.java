@@ -12,6 +12,8 @@ import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.input.MouseEvent;
 import java.util.List;
 import java.util.Map;
+import com.example.Evora.Loading.BackgroundLoader;
+import com.example.Evora.Loading.Skeleton;
 import com.example.Evora.Theme.ThemeManager;
 import com.example.Evora.Theme.Theme;
 
@@ -27,6 +29,8 @@ public class AnalyticsView {
     private ToggleGroup timeGroup;
     private ToggleButton weekButton, monthButton, yearButton;
     private Theme currentTheme;
+    private volatile String requestedRange = "week";
+    private BackgroundLoader.Load<?> rangeLoad; // reload for a new time range, while running
 
     // Color theme mapping for easy customization
     private Map<String, String> colors;
@@ -112,6 +116,17 @@ public class AnalyticsView {
         // Header
         VBox header = createHeader();
 
+        // Statistics are queried off the FX thread; the page fills in once they arrive
+        mainContent.getChildren().addAll(header, Skeleton.page("Crunching your numbers..."));
+        BackgroundLoader.forView("analytics", () -> {
+            controller.refreshData();
+            return controller;
+        }, loaded -> showAnalytics(header));
+
+        return mainContent;
+    }
+
+    private void showAnalytics(VBox header) {
         // Create time range selector FIRST (this initializes the buttons)
         HBox timeRangeSelector = createTimeRangeSelector();
 
@@ -130,9 +145,27 @@ public class AnalyticsView {
             }
         });
 
-        mainContent.getChildren().addAll(header, navBar, timeRangeSelector, tabPane);
+        mainContent.getChildren().setAll(header, navBar, timeRangeSelector, tabPane);
+    }
 
-        return mainContent;
+    // Reload the statistics for another range in the background; the selected tab shows a
+    // placeholder until then. Only the last requested range is ever applied.
+    private void loadTimeRange(String range) {
+        if (range.equals(requestedRange)) {
+            return;
+        }
+        requestedRange = range;
+        if (rangeLoad != null) {
+            rangeLoad.cancel();
+        }
+        rangeLoad = BackgroundLoader.forView("analytics " + range, () -> {
+            controller.setTimeRange(requestedRange);
+            return requestedRange;
+        }, loadedRange -> {
+            rangeLoad = null;
+            refreshTabContent();
+        });
+        refreshTabContent();
     }
 
     // Method to refresh colors when theme changes
@@ -286,8 +319,7 @@ public class AnalyticsView {
         button.selectedProperty().addListener((obs, oldVal, newVal) -> {
             if (newVal) {
                 button.setStyle("-fx-background-radius: 15; -fx-padding: 8 16; -fx-font-size: 12; -fx-min-width: 80; -fx-background-color: linear-gradient(to right, " + colors.get("accent_purple") + ", " + colors.get("accent_pink") + "); -fx-text-fill: white;");
-                controller.setTimeRange(button.getText().toLowerCase());
-                refreshTabContent();
+                loadTimeRange(button.getText().toLowerCase());
             } else {
                 button.setStyle("-fx-background-radius: 15; -fx-padding: 8 16; -fx-font-size: 12; -fx-min-width: 80; -fx-background-color: transparent; -fx-border-color: " + colors.get("accent_purple") + "; -fx-text-fill: " + colors.get("text_primary") + ";");
             }
@@ -306,9 +338,7 @@ public class AnalyticsView {
         if (yearButton != null) {
             yearButton.setSelected(false);
         }
-        if (controller != null) {
-            controller.setTimeRange("week");
-        }
+        loadTimeRange("week");
     }
 
     private TabPane createTabPane() {
@@ -363,7 +393,14 @@ public class AnalyticsView {
     }
 
     private void refreshTabContent() {
+        if (tabPane == null) {
+            return; // first load still running
+        }
         Tab selectedTab = tabPane.getSelectionModel().getSelectedItem();
+        if (selectedTab != null && rangeLoad != null) {
+            selectedTab.setContent(Skeleton.page("Loading " + requestedRange + " statistics..."));
+            return;
+        }
         if (selectedTab != null) {
             String tabText = selectedTab.getText();
             switch (tabText) {
@@ -1209,8 +1246,8 @@ public class AnalyticsView {
         achievementsGrid.setAlignment(Pos.CENTER);
         achievementsGrid.setPadding(new Insets(10));
 
-        // Get real badges from database instead of mock data
-        for (AnalyticsController.Achievement achievement : controller.getRealAchievements()) {
+        // Real badges loaded from the database by the last refresh
+        for (AnalyticsController.Achievement achievement : controller.getAchievements()) {
             VBox achievementCard = createAchievementCard(achievement);
             achievementsGrid.getChildren().add(achievementCard);
         }
@@ -0,0 +1,256 @@
+package com.example.Evora.Analytics;
+
+import com.example.Evora.Database.DatabaseConnection;
+import java.sql.*;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains the UserDailyActivity rollup: one row per user and day with the counters that
+ * analytics, streaks, the dashboard and badges need. Write paths update it incrementally;
+ * {@link #backfillIfNeeded(int)} builds it from the raw tables for users who predate it.
+ * UserDailyActivityBackfill records which users have been built, since a live write can add
+ * today's row before the backfill gets to run.
+ */
+public class DailyActivityService {
+
+    // Counters that can be incremented on today's row
+    public enum Counter {
+        TASKS_CREATED("tasks_created"),
+        TASKS_COMPLETED("tasks_completed"),
+        NOTES_CREATED("notes_created");
+
+        private final String column;
+
+        Counter(String column) {
+            this.column = column;
+        }
+    }
+
+    private static volatile boolean schemaReady = false;
+    private static final Set<Integer> checkedUsers = ConcurrentHashMap.newKeySet();
+
+    private static final String CREATE_TABLE_SQL = """
+        IF OBJECT_ID('UserDailyActivity', 'U') IS NULL
+        BEGIN
+            CREATE TABLE UserDailyActivity (
+                user_id INT NOT NULL,
+                activity_date DATE NOT NULL,
+                tasks_created INT NOT NULL DEFAULT 0,
+                tasks_completed INT NOT NULL DEFAULT 0,
+                pomodoros INT NOT NULL DEFAULT 0,
+                focus_minutes INT NOT NULL DEFAULT 0,
+                mood_value INT NULL,
+                notes_created INT NOT NULL DEFAULT 0,
+                CONSTRAINT PK_UserDailyActivity PRIMARY KEY (user_id, activity_date)
+            )
+        END
+        IF OBJECT_ID('UserDailyActivityBackfill', 'U') IS NULL
+        BEGIN
+            CREATE TABLE UserDailyActivityBackfill (
+                user_id INT NOT NULL PRIMARY KEY,
+                backfilled_at DATETIME2 NOT NULL DEFAULT SYSDATETIME()
+            )
+        END
+        """;
+
+    // Rebuilds one user's rows from the raw tables. Completions are dated by completed_at, like the
+    // live counter counts them (for deleted tasks too when the log keeps completed_at, otherwise
+    // by deleted_at), pomodoros by start_time, everything else by creation date.
+    private static final String BACKFILL_SQL = """
+        DELETE FROM UserDailyActivity WHERE user_id = ?;
+        INSERT INTO UserDailyActivity (user_id, activity_date, tasks_created, tasks_completed,
+                                       pomodoros, focus_minutes, mood_value, notes_created)
+        SELECT ?, activity_date, SUM(tasks_created), SUM(tasks_completed),
+               SUM(pomodoros), SUM(focus_minutes), MAX(mood_value), SUM(notes_created)
+        FROM (
+            SELECT CAST(created_at AS DATE) AS activity_date, 1 AS tasks_created, 0 AS tasks_completed,
+                   0 AS pomodoros, 0 AS focus_minutes, NULL AS mood_value, 0 AS notes_created
+            FROM ToDoTasks WHERE user_id = ?
+            UNION ALL
+            SELECT CAST(COALESCE(completed_at, created_at) AS DATE), 0, 1, 0, 0, NULL, 0
+            FROM ToDoTasks WHERE user_id = ? AND is_completed = 1
+            UNION ALL
+            SELECT CAST(created_at AS DATE), 1, 0, 0, 0, NULL, 0
+            FROM TaskDeletionLog WHERE user_id = ?
+            UNION ALL
+            SELECT CAST({deletedCompletionDate} AS DATE), 0, 1, 0, 0, NULL, 0
+            FROM TaskDeletionLog WHERE user_id = ? AND is_completed = 1
+            UNION ALL
+            SELECT CAST(start_time AS DATE), 0, 0, 1, COALESCE(work_duration, 25), NULL, 0
+            FROM PomodoroSessions WHERE user_id = ? AND status = 'Completed'
+            UNION ALL
+            SELECT CAST(entry_date AS DATE), 0, 0, 0, 0, mood_value, 0
+            FROM MoodLogger WHERE user_id = ?
+            UNION ALL
+            SELECT CAST(created_at AS DATE), 0, 0, 0, 0, NULL, 1
+            FROM StickyNotes WHERE user_id = ?
+        ) events
+        WHERE activity_date IS NOT NULL
+        GROUP BY activity_date;
+        IF NOT EXISTS (SELECT 1 FROM UserDailyActivityBackfill WHERE user_id = ?)
+            INSERT INTO UserDailyActivityBackfill (user_id) VALUES (?);
+        """;
+
+    public static void ensureSchema(Connection conn) throws SQLException {
+        if (schemaReady) return;
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_TABLE_SQL);
+        }
+        schemaReady = true;
+    }
+
+    // Backfill job: builds the rollup for a user who was never backfilled (checked once per session).
+    // Readers call this too, so they wait for a backfill that is still running.
+    public static synchronized void backfillIfNeeded(int userId) {
+        if (checkedUsers.contains(userId)) return;
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            ensureSchema(conn);
+            boolean backfilled;
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT 1 FROM UserDailyActivityBackfill WHERE user_id = ?")) {
+                stmt.setInt(1, userId);
+                backfilled = stmt.executeQuery().next();
+            }
+            if (!backfilled) {
+                rebuild(conn, userId);
+            }
+            checkedUsers.add(userId);
+        } catch (SQLException e) {
+            System.err.println("Error backfilling daily activity: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // Recompute every row of a user from the raw tables and mark the user as backfilled, in one transaction
+    public static void rebuild(Connection conn, int userId) throws SQLException {
+        ensureSchema(conn);
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement stmt = conn.prepareStatement(
+                BACKFILL_SQL.replace("{deletedCompletionDate}", deletedCompletionDate(conn)))) {
+            for (int i = 1; i <= 11; i++) {
+                stmt.setInt(i, userId);
+            }
+            stmt.execute();
+            conn.commit();
+            System.out.println("Daily activity rollup rebuilt for user " + userId);
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    // The deletion log is filled by a trigger; older setups don't copy completed_at into it
+    private static String deletedCompletionDate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COL_LENGTH('TaskDeletionLog', 'completed_at')")) {
+            boolean hasColumn = rs.next() && rs.getObject(1) != null;
+            return hasColumn ? "COALESCE(completed_at, deleted_at)" : "deleted_at";
+        }
+    }
+
+    // Add one to a counter on today's row
+    public static void increment(Connection conn, int userId, Counter counter) {
+        String sql = """
+            MERGE UserDailyActivity AS target
+            USING (SELECT ? AS user_id, CAST(GETDATE() AS DATE) AS activity_date) AS source
+            ON target.user_id = source.user_id AND target.activity_date = source.activity_date
+            WHEN MATCHED THEN
+                UPDATE SET {column} = target.{column} + 1
+            WHEN NOT MATCHED THEN
+                INSERT (user_id, activity_date, {column}) VALUES (source.user_id, source.activity_date, 1);
+            """.replace("{column}", counter.column);
+
+        try {
+            ensureSchema(conn);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, userId);
+                stmt.executeUpdate();
+            }
+        } catch (SQLException e) {
+            // The rollup can always be rebuilt from the raw tables, so never fail the caller
+            System.err.println("Error updating daily activity: " + e.getMessage());
+        }
+    }
+
+    // Take back a completion on the day the task was originally completed (call before clearing completed_at)
+    public static void revertTaskCompletion(Connection conn, int userId, int taskId) {
+        String sql = """
+            UPDATE uda SET tasks_completed = CASE WHEN uda.tasks_completed > 0 THEN uda.tasks_completed - 1 ELSE 0 END
+            FROM UserDailyActivity uda
+            JOIN ToDoTasks t ON t.user_id = uda.user_id
+                AND uda.activity_date = CAST(COALESCE(t.completed_at, t.created_at) AS DATE)
+            WHERE t.task_id = ? AND t.user_id = ? AND t.is_completed = 1
+            """;
+
+        try {
+            ensureSchema(conn);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, taskId);
+                stmt.setInt(2, userId);
+                stmt.executeUpdate();
+            }
+        } catch (SQLException e) {
+            // The rollup can always be rebuilt from the raw tables, so never fail the caller
+            System.err.println("Error updating daily activity: " + e.getMessage());
+        }
+    }
+
+    // Count a completed pomodoro (and its focus minutes) on the day the session started
+    public static void recordPomodoro(Connection conn, int sessionId) {
+        String sql = """
+            MERGE UserDailyActivity AS target
+            USING (
+                SELECT user_id, CAST(start_time AS DATE) AS activity_date, COALESCE(work_duration, 25) AS minutes
+                FROM PomodoroSessions WHERE session_id = ? AND status = 'Completed'
+            ) AS source
+            ON target.user_id = source.user_id AND target.activity_date = source.activity_date
+            WHEN MATCHED THEN
+                UPDATE SET pomodoros = target.pomodoros + 1, focus_minutes = target.focus_minutes + source.minutes
+            WHEN NOT MATCHED THEN
+                INSERT (user_id, activity_date, pomodoros, focus_minutes)
+                VALUES (source.user_id, source.activity_date, 1, source.minutes);
+            """;
+
+        try {
+            ensureSchema(conn);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, sessionId);
+                stmt.executeUpdate();
+            }
+        } catch (SQLException e) {
+            // The rollup can always be rebuilt from the raw tables, so never fail the caller
+            System.err.println("Error updating daily activity: " + e.getMessage());
+        }
+    }
+
+    public static void recordMood(Connection conn, int userId, Date date, int moodValue) {
+        String sql = """
+            MERGE UserDailyActivity AS target
+            USING (SELECT ? AS user_id, ? AS activity_date) AS source
+            ON target.user_id = source.user_id AND target.activity_date = source.activity_date
+            WHEN MATCHED THEN
+                UPDATE SET mood_value = ?
+            WHEN NOT MATCHED THEN
+                INSERT (user_id, activity_date, mood_value) VALUES (source.user_id, source.activity_date, ?);
+            """;
+
+        try {
+            ensureSchema(conn);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, userId);
+                stmt.setDate(2, date);
+                stmt.setInt(3, moodValue);
+                stmt.setInt(4, moodValue);
+                stmt.executeUpdate();
+            }
+        } catch (SQLException e) {
+            // The rollup can always be rebuilt from the raw tables, so never fail the caller
+            System.err.println("Error updating daily activity: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.Evora.Analytics;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Wall-clock timing of each query in one analytics refresh, in the order they ran
+public class QueryTimings {
+
+    public interface SqlWork<T> {
+        T run() throws SQLException;
+    }
+
+    public interface SqlTask {
+        void run() throws SQLException;
+    }
+
+    private final Map<String, Long> nanosByQuery = new LinkedHashMap<>();
+    private long startedAt;
+    private long totalNanos;
+
+    public synchronized void start() {
+        nanosByQuery.clear();
+        totalNanos = 0;
+        startedAt = System.nanoTime();
+    }
+
+    public synchronized void finish() {
+        totalNanos = System.nanoTime() - startedAt;
+    }
+
+    public <T> T time(String label, SqlWork<T> work) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return work.run();
+        } finally {
+            record(label, System.nanoTime() - start);
+        }
+    }
+
+    public void run(String label, SqlTask task) throws SQLException {
+        time(label, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    private synchronized void record(String label, long nanos) {
+        nanosByQuery.merge(label, nanos, Long::sum);
+    }
+
+    // Milliseconds per query label for the last refresh
+    public synchronized Map<String, Double> getMillisByQuery() {
+        Map<String, Double> millis = new LinkedHashMap<>();
+        nanosByQuery.forEach((label, nanos) -> millis.put(label, nanos / 1_000_000.0));
+        return Collections.unmodifiableMap(millis);
+    }
+
+    public synchronized double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    public synchronized int getQueryCount() {
+        return nanosByQuery.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder(String.format("total %.1fms", getTotalMillis()));
+        nanosByQuery.forEach((label, nanos) -> sb.append(String.format(", %s %.1fms", label, nanos / 1_000_000.0)));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.Evora.Analytics;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/**
+ * Streak calculations over a set of active days. Each day is one bit indexed by its
+ * epoch day, so adding a day is O(1) and the answers come from word-at-a-time scans of
+ * the bits (about 60 longs for ten years of history) instead of searching a list of dates.
+ */
+public class StreakEngine {
+
+    private final BitSet days = new BitSet();
+    private long firstEpochDay;   // epoch day stored at bit 0
+    private boolean empty = true;
+
+    public void add(LocalDate date) {
+        addEpochDay(date.toEpochDay());
+    }
+
+    public void addEpochDay(long epochDay) {
+        if (empty) {
+            firstEpochDay = epochDay;
+            empty = false;
+        } else if (epochDay < firstEpochDay) {
+            shiftStartTo(epochDay);
+        }
+        days.set(Math.toIntExact(epochDay - firstEpochDay));
+    }
+
+    // Move bit 0 back to an earlier day (only needed when days arrive out of order)
+    private void shiftStartTo(long epochDay) {
+        int shift = Math.toIntExact(firstEpochDay - epochDay);
+        BitSet shifted = new BitSet(days.length() + shift);
+        for (int i = days.nextSetBit(0); i >= 0; i = days.nextSetBit(i + 1)) {
+            shifted.set(i + shift);
+        }
+        days.clear();
+        days.or(shifted);
+        firstEpochDay = epochDay;
+    }
+
+    public boolean isActive(LocalDate date) {
+        if (empty) return false;
+        long offset = date.toEpochDay() - firstEpochDay;
+        return offset >= 0 && offset <= Integer.MAX_VALUE && days.get((int) offset);
+    }
+
+    public int getActiveDays() {
+        return days.cardinality();
+    }
+
+    // Consecutive active days ending on the given day (0 when that day has no activity)
+    public int getCurrentStreak(LocalDate today) {
+        if (!isActive(today)) return 0;
+        int index = (int) (today.toEpochDay() - firstEpochDay);
+        return index - days.previousClearBit(index);
+    }
+
+    public int getLongestStreak() {
+        int longest = 0;
+        for (int start = days.nextSetBit(0); start >= 0; ) {
+            int end = days.nextClearBit(start);
+            longest = Math.max(longest, end - start);
+            start = days.nextSetBit(end);
+        }
+        return longest;
+    }
+}
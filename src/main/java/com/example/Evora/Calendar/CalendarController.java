@@ -1,56 +1,98 @@
 // File: src/main/java/com/example/Evora/Calendar/CalendarController.java
 package com.example.Evora.Calendar;
 
-import com.example.Evora.Database.DatabaseConnection;
-import java.sql.*;
+import com.example.Evora.ToDoList.TaskRepository;
+import com.example.Evora.ToDoList.Todo;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.SetChangeListener;
+import javafx.collections.WeakListChangeListener;
+import javafx.collections.WeakSetChangeListener;
+
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class CalendarController {
-    private Connection conn;
     private LocalDate currentDate;
     private LocalDate selectedDate;
-    private final List<Todo> todos;
-    private final int CURRENT_USER_ID;
+    private final ObservableList<Todo> todos;
+    private final java.util.function.Consumer<YearMonth> monthLoader; // loads the months around one
     private Runnable onContentChange;
+    private java.util.function.Consumer<LocalDate> onSelectionChange; // gets the previous selection
+
+    // Tasks by due date, kept in step with the shared list one change at a time, so a month
+    // is one range lookup and no date is parsed while drawing
+    private final TreeMap<LocalDate, List<Todo>> byDate = new TreeMap<>();
+
+    // Redraw when a month on screen loads or the to-do list changes one of its tasks; held
+    // weakly by the repository so a calendar that is no longer cached can be collected
+    private final ListChangeListener<Todo> tasksListener = this::onTasksChanged;
+    private final SetChangeListener<YearMonth> monthsListener = change -> {
+        if (change.wasAdded() && overlapsScreen(change.getElementAdded())) {
+            notifyContentChange();
+        }
+    };
 
     public CalendarController(int userId) {
-        connectToDatabase();
+        this(userId, month -> TaskRepository.loadMonths(userId, month));
+    }
+
+    // Tests pass their own loader so no database is touched
+    CalendarController(int userId, java.util.function.Consumer<YearMonth> monthLoader) {
         this.currentDate = LocalDate.now();
         this.selectedDate = null;
-        this.CURRENT_USER_ID = userId;
-        this.todos = loadTodosFromDB();
-    }
+        this.monthLoader = monthLoader;
 
-    private void connectToDatabase() {
-        try {
-            conn = DatabaseConnection.getConnection();
-            System.out.println("Connected to EvoraDB from Calendar!");
-        } catch (SQLException e) {
-            System.out.println("DB Connection failed: " + e.getMessage());
-            e.printStackTrace();
+        // Shared with the to-do list; filled a month at a time in the background
+        this.todos = TaskRepository.getDatedTasks(userId);
+        for (Todo todo : todos) {
+            index(todo);
         }
+        todos.addListener(new WeakListChangeListener<>(tasksListener));
+        TaskRepository.getLoadedMonths().addListener(new WeakSetChangeListener<>(monthsListener));
+        loadVisibleMonths();
+    }
+
+    // Cached months show at once; missing or stale ones are read in the background
+    private void loadVisibleMonths() {
+        monthLoader.accept(YearMonth.from(currentDate));
+    }
+
+    public boolean isLoaded() {
+        return TaskRepository.getLoadedMonths().contains(YearMonth.from(currentDate));
     }
 
     public void setOnContentChange(Runnable callback) {
         this.onContentChange = callback;
     }
 
+    public void setOnSelectionChange(java.util.function.Consumer<LocalDate> callback) {
+        this.onSelectionChange = callback;
+    }
+
     // Date navigation methods
     public void previousMonth() {
         currentDate = currentDate.minusMonths(1);
+        loadVisibleMonths();
         notifyContentChange();
     }
 
     public void nextMonth() {
         currentDate = currentDate.plusMonths(1);
+        loadVisibleMonths();
         notifyContentChange();
     }
 
+    // Only the selection moved: the view repaints the old and new day, not the whole month
     public void selectDate(LocalDate date) {
+        LocalDate previous = selectedDate;
         selectedDate = date;
-        notifyContentChange();
+        if (onSelectionChange != null) {
+            onSelectionChange.accept(previous);
+        } else {
+            notifyContentChange();
+        }
     }
 
     // Getters
@@ -71,118 +113,107 @@ public class CalendarController {
     }
 
     public List<Todo> getTodosForDate(LocalDate date) {
-        return todos.stream()
-                .filter(t -> t.getDueDate() != null &&
-                        LocalDate.parse(t.getDueDate()).equals(date))
-                .collect(Collectors.toList());
+        List<Todo> dayTodos = byDate.get(date);
+        return dayTodos != null ? Collections.unmodifiableList(dayTodos) : Collections.emptyList();
+    }
+
+    // Every day from..to (inclusive) that has tasks; a view, not a copy
+    public NavigableMap<LocalDate, List<Todo>> getTodosBetween(LocalDate from, LocalDate to) {
+        return Collections.unmodifiableNavigableMap(byDate.subMap(from, true, to, true));
     }
 
     public List<Todo> getSelectedDateTodos() {
         return selectedDate != null ? getTodosForDate(selectedDate) : Collections.emptyList();
     }
 
-    // Statistics methods
+    // Statistics methods, for the month on screen (only the months around it are in memory)
+    private List<Todo> getMonthTodos() {
+        YearMonth month = YearMonth.from(currentDate);
+        List<Todo> monthTodos = new ArrayList<>();
+        for (List<Todo> dayTodos : getTodosBetween(month.atDay(1), month.atEndOfMonth()).values()) {
+            monthTodos.addAll(dayTodos);
+        }
+        return monthTodos;
+    }
+
     public int getTotalTasks() {
-        return todos.size();
+        return getMonthTodos().size();
     }
 
     public int getPendingTasks() {
-        return (int) todos.stream().filter(t -> !t.isCompleted()).count();
+        return (int) getMonthTodos().stream().filter(t -> !t.isCompleted()).count();
     }
 
     public int getCompletedTasks() {
-        return (int) todos.stream().filter(Todo::isCompleted).count();
+        return (int) getMonthTodos().stream().filter(Todo::isCompleted).count();
     }
 
     public int getHighPriorityTasks() {
-        return (int) todos.stream().filter(t -> "high".equals(t.getPriority()) && !t.isCompleted()).count();
+        return (int) getMonthTodos().stream().filter(t -> "high".equals(t.getPriority()) && !t.isCompleted()).count();
     }
 
-    private void notifyContentChange() {
-        if (onContentChange != null) {
-            onContentChange.run();
+    private void onTasksChanged(ListChangeListener.Change<? extends Todo> change) {
+        boolean onScreen = false;
+        while (change.next()) {
+            for (Todo removed : change.getRemoved()) {
+                unindex(removed);
+                onScreen |= isOnScreen(removed.getDue());
+            }
+            for (Todo added : change.getAddedSubList()) {
+                index(added);
+                onScreen |= isOnScreen(added.getDue());
+            }
+        }
+        if (onScreen) {
+            notifyContentChange(); // prefetched months don't redraw anything
         }
     }
 
-    private List<Todo> loadTodosFromDB() {
-        List<Todo> todoList = new ArrayList<>();
-
-        if (!isConnected()) {
-            System.out.println("DB not connected → Using sample data");
-            return getSampleTodos();
-        }
+    // The grid shows up to a week either side of the month
+    private boolean isOnScreen(LocalDate date) {
+        return date != null && !date.isBefore(gridStart()) && !date.isAfter(gridEnd());
+    }
 
-        String sql = """
-            SELECT task_id, description, is_completed, priority, due_date 
-            FROM ToDoTasks 
-            WHERE user_id = ? AND due_date IS NOT NULL
-            ORDER BY due_date
-            """;
-
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
-            ps.setInt(1, CURRENT_USER_ID);
-            ResultSet rs = ps.executeQuery();
-
-            while (rs.next()) {
-                todoList.add(new Todo(
-                        String.valueOf(rs.getInt("task_id")),
-                        rs.getString("description"),
-                        rs.getBoolean("is_completed"),
-                        rs.getString("priority").toLowerCase(),
-                        rs.getDate("due_date") != null ?
-                                rs.getDate("due_date").toLocalDate().toString() : null
-                ));
-            }
-            System.out.println("Loaded " + todoList.size() + " tasks from DB");
-        } catch (SQLException e) {
-            System.out.println("Failed to load tasks from DB");
-            e.printStackTrace();
-            return getSampleTodos();
-        }
+    // Whether any day of the month is in the grid, e.g. the tail of the previous month
+    private boolean overlapsScreen(YearMonth month) {
+        return !month.atEndOfMonth().isBefore(gridStart()) && !month.atDay(1).isAfter(gridEnd());
+    }
 
-        return todoList;
+    private LocalDate gridStart() {
+        return YearMonth.from(currentDate).atDay(1).minusDays(7);
     }
 
-    private List<Todo> getSampleTodos() {
-        return Arrays.asList(
-                new Todo("1", "Review presentation slides", false, "high", "2025-11-04"),
-                new Todo("2", "Call team meeting", true, "medium", "2025-11-03"),
-                new Todo("3", "Submit expense reports", false, "high", "2025-11-05"),
-                new Todo("4", "Plan weekend trip", false, "low", "2025-11-04"),
-                new Todo("5", "Doctor appointment", false, "medium", "2025-11-10"),
-                new Todo("6", "Grocery shopping", false, "low", "2025-11-12")
-        );
+    private LocalDate gridEnd() {
+        return YearMonth.from(currentDate).atEndOfMonth().plusDays(14);
     }
 
-    public boolean isConnected() {
-        try {
-            return conn != null && !conn.isClosed();
-        } catch (SQLException e) {
-            return false;
+    private void index(Todo todo) {
+        LocalDate due = todo.getDue();
+        if (due != null) {
+            byDate.computeIfAbsent(due, d -> new ArrayList<>()).add(todo);
         }
     }
 
-    public Connection getConnection() {
-        return conn;
+    private void unindex(Todo todo) {
+        LocalDate due = todo.getDue();
+        List<Todo> dayTodos = due != null ? byDate.get(due) : null;
+        if (dayTodos == null) {
+            return;
+        }
+        for (int i = 0; i < dayTodos.size(); i++) {
+            if (dayTodos.get(i) == todo) { // by identity: the same task can be set in place
+                dayTodos.remove(i);
+                break;
+            }
+        }
+        if (dayTodos.isEmpty()) {
+            byDate.remove(due);
+        }
     }
 
-    // Inner Todo class
-    public static class Todo {
-        private final String id, text, priority, dueDate;
-        private final boolean completed;
-
-        public Todo(String id, String text, boolean completed, String priority, String dueDate) {
-            this.id = id;
-            this.text = text;
-            this.completed = completed;
-            this.priority = priority;
-            this.dueDate = dueDate;
+    private void notifyContentChange() {
+        if (onContentChange != null) {
+            onContentChange.run();
         }
-
-        public String getId() { return id; }
-        public String getText() { return text; }
-        public boolean isCompleted() { return completed; }
-        public String getPriority() { return priority; }
-        public String getDueDate() { return dueDate; }
     }
-}
\ No newline at end of file
+}
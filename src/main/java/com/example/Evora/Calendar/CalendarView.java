@@ -1,9 +1,10 @@
 // src/main/java/com/example/Evora/calendar/CalendarView.java
 package com.example.Evora.Calendar;
 
-import com.example.Evora.Database.DatabaseConnection;
+import com.example.Evora.Loading.Skeleton;
 import com.example.Evora.Theme.Theme;
 import com.example.Evora.Theme.ThemeManager;
+import com.example.Evora.ToDoList.Todo;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.geometry.*;
@@ -20,52 +21,62 @@ import javafx.scene.effect.DropShadow;
 import javafx.scene.Cursor;
 import org.kordamp.ikonli.javafx.FontIcon;
 
-import java.sql.*;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class CalendarView {
-    private Connection conn;
-    private LocalDate currentDate;
-    private LocalDate selectedDate;
-    private final List<Todo> todos;
-    private int CURRENT_USER_ID;
-    private Runnable onContentChange;
+    private final CalendarController controller; // month, selection and the shared tasks
     private DoubleProperty widthProperty = new SimpleDoubleProperty(1400);
     private ThemeManager themeManager;
 
+    // Built once; later changes rebind these instead of rebuilding the page
+    private ScrollPane content;
+    private Label monthLabel;
+    private final DayCell[] cells = new DayCell[42]; // 6 weeks x 7 days, reused for every month
+    private VBox sidePanel;
+
     public CalendarView(int userId) {
-        connectToDatabase();
-        this.currentDate = LocalDate.now();
-        this.selectedDate = null;
-        this.CURRENT_USER_ID = userId;
+        // Tasks are read off the FX thread; the side panel shows placeholders until then
+        this.controller = new CalendarController(userId);
         this.themeManager = ThemeManager.getInstance();
-        this.todos = loadTodosFromDB();
+        controller.setOnContentChange(this::refresh);
+        controller.setOnSelectionChange(this::selectionChanged);
     }
 
-    private void connectToDatabase() {
-        try {
-            conn = DatabaseConnection.getConnection();
-            System.out.println("Connected to EvoraDB from Calendar!");
-        } catch (SQLException e) {
-            System.out.println("DB Connection failed: " + e.getMessage());
-            e.printStackTrace();
-        }
+    public void setWidth(double width) {
+        widthProperty.set(width);
     }
 
-    public void setOnContentChange(Runnable callback) {
-        this.onContentChange = callback;
+    public ScrollPane getContent() {
+        if (content == null) {
+            content = buildMainContent();
+        }
+        return content;
     }
 
-    public void setWidth(double width) {
-        widthProperty.set(width);
+    // Month changed or tasks on screen changed: same nodes, new data
+    private void refresh() {
+        if (content == null) {
+            return;
+        }
+        monthLabel.setText(controller.getMonthYear());
+        bindCells();
+        refreshSidePanel();
     }
 
-    public ScrollPane getContent() {
-        return buildMainContent();
+    // Only the previously selected day and the new one are repainted
+    private void selectionChanged(LocalDate previous) {
+        if (content == null) {
+            return;
+        }
+        for (DayCell cell : cells) {
+            if (cell.date.equals(previous) || cell.date.equals(controller.getSelectedDate())) {
+                cell.paint();
+            }
+        }
+        refreshSidePanel();
     }
 
     private ScrollPane buildMainContent() {
@@ -236,9 +247,9 @@ public class CalendarView {
         HBox nav = new HBox(20);
         nav.setAlignment(Pos.CENTER);
 
-        Button prev = createNavButton("Previous", () -> changeMonth(-1));
+        Button prev = createNavButton("Previous", controller::previousMonth);
 
-        Label monthLabel = new Label(getMonthYear());
+        monthLabel = new Label(controller.getMonthYear());
         monthLabel.setStyle("-fx-font-weight: 600;");
         monthLabel.setTextFill(Color.web(currentTheme.getTextPrimary()));
         monthLabel.fontProperty().bind(
@@ -248,7 +259,7 @@ public class CalendarView {
                 )
         );
 
-        Button next = createNavButton("Next", () -> changeMonth(1));
+        Button next = createNavButton("Next", controller::nextMonth);
         nav.getChildren().addAll(prev, monthLabel, next);
 
         GridPane dayHeaders = new GridPane();
@@ -266,33 +277,6 @@ public class CalendarView {
 
         GridPane grid = createCalendarGrid();
         card.getChildren().addAll(nav, dayHeaders, grid);
-
-        // === DYNAMIC CELL SIZING WITH BINDING ===
-        double minCellSize = 50;
-        double sideSpace = 600;
-        double cellGap = 14;
-
-        // Calculate cell size based on current width
-        grid.getChildren().forEach(node -> {
-            if (node instanceof VBox cell) {
-                cell.minWidthProperty().bind(
-                        javafx.beans.binding.Bindings.createDoubleBinding(() -> {
-                            double availableWidth = widthProperty.get() - sideSpace;
-                            return Math.max(minCellSize, (availableWidth / 7) - cellGap);
-                        }, widthProperty)
-                );
-                cell.minHeightProperty().bind(
-                        javafx.beans.binding.Bindings.createDoubleBinding(() -> {
-                            double availableWidth = widthProperty.get() - sideSpace;
-                            double cellWidth = Math.max(minCellSize, (availableWidth / 7) - cellGap);
-                            return cellWidth * 0.6;
-                        }, widthProperty)
-                );
-                cell.setPrefSize(Region.USE_COMPUTED_SIZE, Region.USE_COMPUTED_SIZE);
-                cell.setMaxSize(Region.USE_COMPUTED_SIZE, Region.USE_COMPUTED_SIZE);
-            }
-        });
-
         return card;
     }
 
@@ -302,129 +286,164 @@ public class CalendarView {
         grid.setVgap(8);
         grid.setAlignment(Pos.CENTER);
 
-        YearMonth yearMonth = YearMonth.from(currentDate);
+        // === DYNAMIC CELL SIZING WITH BINDING ===
+        double minCellSize = 50;
+        double sideSpace = 600;
+        double cellGap = 14;
+        javafx.beans.binding.DoubleBinding cellWidth = javafx.beans.binding.Bindings.createDoubleBinding(() -> {
+            double availableWidth = widthProperty.get() - sideSpace;
+            return Math.max(minCellSize, (availableWidth / 7) - cellGap);
+        }, widthProperty);
+
+        for (int i = 0; i < cells.length; i++) {
+            DayCell cell = new DayCell();
+            cell.minWidthProperty().bind(cellWidth);
+            cell.minHeightProperty().bind(cellWidth.multiply(0.6));
+            cells[i] = cell;
+            grid.add(cell, i % 7, i / 7);
+        }
+        bindCells();
+        return grid;
+    }
+
+    // Point the 42 cells at the current month; one range lookup for all of them
+    private void bindCells() {
+        YearMonth yearMonth = YearMonth.from(controller.getCurrentDate());
         LocalDate firstOfMonth = yearMonth.atDay(1);
         int firstDayOffset = firstOfMonth.getDayOfWeek().getValue() % 7;
-        int daysInMonth = yearMonth.lengthOfMonth();
-
-        int row = 0, col = 0;
+        LocalDate gridStart = firstOfMonth.minusDays(firstDayOffset);
+        Map<LocalDate, List<Todo>> gridTodos = controller.getTodosBetween(gridStart, gridStart.plusDays(41));
         LocalDate today = LocalDate.now();
 
-        // Previous month days
-        LocalDate prev = currentDate.minusMonths(1);
-        int prevDays = YearMonth.from(prev).lengthOfMonth();
-        for (int i = firstDayOffset - 1; i >= 0; i--) {
-            LocalDate d = prev.withDayOfMonth(prevDays - i);
-            grid.add(createDayCell(d, true, false), col++, row);
-            if (col == 7) { col = 0; row++; }
+        for (int i = 0; i < cells.length; i++) {
+            LocalDate d = gridStart.plusDays(i);
+            cells[i].bind(d, gridTodos.get(d), !YearMonth.from(d).equals(yearMonth), d.equals(today));
         }
-
-        // Current month days
-        for (int day = 1; day <= daysInMonth; day++) {
-            if (col == 7) { col = 0; row++; }
-            LocalDate d = yearMonth.atDay(day);
-            boolean isToday = d.equals(today);
-            grid.add(createDayCell(d, false, isToday), col++, row);
-        }
-
-        // Next month days
-        int remaining = 42 - grid.getChildren().size();
-        LocalDate next = currentDate.plusMonths(1);
-        for (int day = 1; day <= remaining; day++) {
-            if (col == 7) { col = 0; row++; }
-            LocalDate d = next.withDayOfMonth(day);
-            grid.add(createDayCell(d, true, false), col++, row);
-        }
-
-        return grid;
     }
 
-    private VBox createDayCell(LocalDate date, boolean isOtherMonth, boolean isToday) {
-        List<Todo> dayTodos = getTodosForDate(date);
-        List<Todo> pending = dayTodos.stream()
-                .filter(t -> !t.isCompleted())
-                .collect(Collectors.toList());
-
-        boolean isSelected = date.equals(selectedDate);
-        boolean hasTasks = pending.size() > 0;
-
-        VBox cell = new VBox(4);
-        cell.setAlignment(Pos.TOP_CENTER);
-        cell.setPadding(new Insets(6, 8, 8, 8));
-        cell.setCursor(Cursor.HAND);
-
-        // Use theme-appropriate colors
-        String bg = getDayCellBackgroundColor(isSelected, isToday, hasTasks);
-        String border = getDayCellBorderColor(isSelected, isToday, hasTasks);
-        String opacity = isOtherMonth ? "0.4" : "1.0";
-
-        cell.setStyle(String.format("""
-            -fx-background-color: %s;
-            -fx-background-radius: 16;
-            -fx-border-color: %s;
-            -fx-border-width: 2;
-            -fx-border-radius: 16;
-            -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.08), 6, 0, 0, 2);
-            -fx-opacity: %s;
-            -fx-cursor: hand;
-            """, bg, border, opacity));
-
-        cell.setOnMouseClicked(e -> {
-            selectedDate = date;
-            if (onContentChange != null) {
-                onContentChange.run();
+    /**
+     * One day of the grid. Its nodes (label, three priority dots and the "+n" label) are made
+     * once; bind() gives it a new day and paint() redraws it, so changing month or selection
+     * allocates nothing.
+     */
+    private class DayCell extends VBox {
+        private final Label dayLabel = new Label();
+        private final Circle[] dotCircles = new Circle[3];
+        private final Label more = new Label();
+        private final HBox dots = new HBox(3);
+
+        private LocalDate date = LocalDate.MIN;
+        private final List<Todo> pending = new ArrayList<>();
+        private boolean isOtherMonth;
+        private boolean isToday;
+
+        DayCell() {
+            super(4);
+            setAlignment(Pos.TOP_CENTER);
+            setPadding(new Insets(6, 8, 8, 8));
+            setCursor(Cursor.HAND);
+            setPrefSize(Region.USE_COMPUTED_SIZE, Region.USE_COMPUTED_SIZE);
+            setMaxSize(Region.USE_COMPUTED_SIZE, Region.USE_COMPUTED_SIZE);
+
+            dayLabel.setFont(Font.font("Poppins", 14));
+            dayLabel.setStyle("-fx-font-weight: bold;");
+
+            dots.setAlignment(Pos.CENTER);
+            for (int i = 0; i < dotCircles.length; i++) {
+                dotCircles[i] = new Circle(3);
             }
-        });
-
-        Label dayLabel = new Label(String.valueOf(date.getDayOfMonth()));
-        dayLabel.setFont(Font.font("Poppins", 14));
-
-        // Use theme-appropriate text colors
-        Color textColor = getDayCellTextColor(isOtherMonth, isToday, hasTasks);
-        dayLabel.setTextFill(textColor);
-        dayLabel.setStyle("-fx-font-weight: bold;");
-
-        HBox dots = new HBox(3);
-        dots.setAlignment(Pos.CENTER);
-        pending.stream().limit(3).forEach(t -> {
-            Circle c = new Circle(3, Color.web(getPriorityColor(t.getPriority())));
-            dots.getChildren().add(c);
-        });
-        if (pending.size() > 3) {
-            Label more = new Label("+" + (pending.size() - 3));
             more.setTextFill(Color.web(themeManager.getCurrentTheme().getTextSecondary()));
             more.setFont(Font.font(9));
             more.setStyle("-fx-font-weight: bold;");
-            dots.getChildren().add(more);
+
+            setOnMouseClicked(e -> controller.selectDate(date));
+            getChildren().addAll(dayLabel, dots);
+        }
+
+        void bind(LocalDate date, List<Todo> dayTodos, boolean isOtherMonth, boolean isToday) {
+            this.date = date;
+            this.isOtherMonth = isOtherMonth;
+            this.isToday = isToday;
+            pending.clear();
+            if (dayTodos != null) {
+                for (Todo todo : dayTodos) {
+                    if (!todo.isCompleted()) {
+                        pending.add(todo);
+                    }
+                }
+            }
+
+            dayLabel.setText(String.valueOf(date.getDayOfMonth()));
+            int shown = Math.min(pending.size(), dotCircles.length);
+            dots.getChildren().setAll(Arrays.asList(dotCircles).subList(0, shown));
+            for (int i = 0; i < shown; i++) {
+                dotCircles[i].setFill(Color.web(getPriorityColor(pending.get(i).getPriority())));
+            }
+            if (pending.size() > dotCircles.length) {
+                more.setText("+" + (pending.size() - dotCircles.length));
+                dots.getChildren().add(more);
+            }
+            paint();
         }
 
-        cell.getChildren().addAll(dayLabel, dots);
-        return cell;
+        void paint() {
+            boolean isSelected = date.equals(controller.getSelectedDate());
+            boolean hasTasks = !pending.isEmpty();
+
+            // Use theme-appropriate colors
+            String bg = getDayCellBackgroundColor(isSelected, isToday, hasTasks);
+            String border = getDayCellBorderColor(isSelected, isToday, hasTasks);
+            String opacity = isOtherMonth ? "0.4" : "1.0";
+
+            setStyle(String.format("""
+                -fx-background-color: %s;
+                -fx-background-radius: 16;
+                -fx-border-color: %s;
+                -fx-border-width: 2;
+                -fx-border-radius: 16;
+                -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.08), 6, 0, 0, 2);
+                -fx-opacity: %s;
+                -fx-cursor: hand;
+                """, bg, border, opacity));
+
+            // Use theme-appropriate text colors
+            dayLabel.setTextFill(getDayCellTextColor(isOtherMonth, isToday, hasTasks));
+        }
     }
 
     private VBox createSidePanel() {
-        VBox panel = new VBox(20);
-        panel.setAlignment(Pos.TOP_CENTER);
+        sidePanel = new VBox(20);
+        sidePanel.setAlignment(Pos.TOP_CENTER);
 
         // Responsive width binding
-        panel.maxWidthProperty().bind(
+        sidePanel.maxWidthProperty().bind(
                 javafx.beans.binding.Bindings.createDoubleBinding(() ->
                                 widthProperty.get() < 1024 ? widthProperty.get() - 80 : 380.0,
                         widthProperty
                 )
         );
 
+        refreshSidePanel();
+        return sidePanel;
+    }
+
+    // The side panel is small, so its two cards are simply made again
+    private void refreshSidePanel() {
+        if (!controller.isLoaded()) {
+            sidePanel.getChildren().setAll(Skeleton.block(380, 320), Skeleton.block(380, 240));
+            return;
+        }
+
         VBox taskCard = createTaskCard();
         VBox statsCard = createStatsCard();
 
-        panel.getChildren().addAll(taskCard, statsCard);
+        sidePanel.getChildren().setAll(taskCard, statsCard);
         VBox.setVgrow(taskCard, Priority.NEVER);
         VBox.setVgrow(statsCard, Priority.NEVER);
-
-        return panel;
     }
 
     private VBox createTaskCard() {
+        LocalDate selectedDate = controller.getSelectedDate();
         VBox card = new VBox(16);
         card.setPadding(new Insets(24));
 
@@ -483,7 +502,7 @@ public class CalendarView {
 
         VBox list = new VBox(10);
         list.setMinHeight(200);
-        List<Todo> selected = selectedDate != null ? getTodosForDate(selectedDate) : Collections.emptyList();
+        List<Todo> selected = controller.getSelectedDateTodos();
 
         if (selected.isEmpty()) {
             VBox emptyState = new VBox(12);
@@ -607,7 +626,7 @@ public class CalendarView {
         )));
         card.setEffect(new DropShadow(20, Color.gray(0, 0.15)));
 
-        Label title = new Label("Quick Stats");
+        Label title = new Label("This Month");
         title.setStyle("-fx-font-weight: 600;");
         title.setTextFill(Color.web(currentTheme.getTextPrimary()));
         title.fontProperty().bind(
@@ -619,10 +638,10 @@ public class CalendarView {
 
         VBox stats = new VBox(10);
         stats.getChildren().addAll(
-                statRow("Total Tasks", String.valueOf(todos.size()), currentTheme.getStatCardColor1()),
-                statRow("Pending", String.valueOf(todos.stream().filter(t -> !t.isCompleted()).count()), currentTheme.getStatCardColor2()),
-                statRow("Completed", String.valueOf(todos.stream().filter(Todo::isCompleted).count()), currentTheme.getStatCardColor3()),
-                statRow("High Priority", String.valueOf(todos.stream().filter(t -> "high".equals(t.getPriority()) && !t.isCompleted()).count()), currentTheme.getStatCardColor4())
+                statRow("Total Tasks", String.valueOf(controller.getTotalTasks()), currentTheme.getStatCardColor1()),
+                statRow("Pending", String.valueOf(controller.getPendingTasks()), currentTheme.getStatCardColor2()),
+                statRow("Completed", String.valueOf(controller.getCompletedTasks()), currentTheme.getStatCardColor3()),
+                statRow("High Priority", String.valueOf(controller.getHighPriorityTasks()), currentTheme.getStatCardColor4())
         );
 
         card.getChildren().addAll(title, stats);
@@ -671,24 +690,6 @@ public class CalendarView {
         return btn;
     }
 
-    private void changeMonth(int delta) {
-        currentDate = currentDate.plusMonths(delta);
-        if (onContentChange != null) {
-            onContentChange.run();
-        }
-    }
-
-    private String getMonthYear() {
-        return currentDate.getMonth().getDisplayName(java.time.format.TextStyle.FULL, Locale.getDefault()) + " " + currentDate.getYear();
-    }
-
-    private List<Todo> getTodosForDate(LocalDate date) {
-        return todos.stream()
-                .filter(t -> t.getDueDate() != null &&
-                        LocalDate.parse(t.getDueDate()).equals(date))
-                .collect(Collectors.toList());
-    }
-
     // Theme-based color methods
     private String getPriorityColor(String priority) {
         Theme currentTheme = themeManager.getCurrentTheme();
@@ -818,86 +819,4 @@ public class CalendarView {
             return "#86efac"; // Original light border
         }
     }
-
-    private List<Todo> loadTodosFromDB() {
-        List<Todo> todoList = new ArrayList<>();
-
-        if (!isConnected()) {
-            System.out.println("DB not connected → Using sample data");
-            return getSampleTodos();
-        }
-
-        String sql = """
-            SELECT task_id, description, is_completed, priority, due_date 
-            FROM ToDoTasks 
-            WHERE user_id = ? AND due_date IS NOT NULL
-            ORDER BY due_date
-            """;
-
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
-            ps.setInt(1, CURRENT_USER_ID);
-            ResultSet rs = ps.executeQuery();
-
-            while (rs.next()) {
-                todoList.add(new Todo(
-                        String.valueOf(rs.getInt("task_id")),
-                        rs.getString("description"),
-                        rs.getBoolean("is_completed"),
-                        rs.getString("priority").toLowerCase(),
-                        rs.getDate("due_date") != null ?
-                                rs.getDate("due_date").toLocalDate().toString() : null
-                ));
-            }
-            System.out.println("Loaded " + todoList.size() + " tasks from DB");
-        } catch (SQLException e) {
-            System.out.println("Failed to load tasks from DB");
-            e.printStackTrace();
-            return getSampleTodos();
-        }
-
-        return todoList;
-    }
-
-    // === FALLBACK SAMPLE DATA ===
-    private List<Todo> getSampleTodos() {
-        return Arrays.asList(
-                new Todo("1", "Review presentation slides", false, "high", "2025-11-04"),
-                new Todo("2", "Call team meeting", true, "medium", "2025-11-03"),
-                new Todo("3", "Submit expense reports", false, "high", "2025-11-05"),
-                new Todo("4", "Plan weekend trip", false, "low", "2025-11-04"),
-                new Todo("5", "Doctor appointment", false, "medium", "2025-11-10"),
-                new Todo("6", "Grocery shopping", false, "low", "2025-11-12")
-        );
-    }
-
-    // === INNER CLASS ===
-    private static class Todo {
-        private final String id, text, priority, dueDate;
-        private final boolean completed;
-
-        Todo(String id, String text, boolean completed, String priority, String dueDate) {
-            this.id = id; this.text = text; this.completed = completed;
-            this.priority = priority; this.dueDate = dueDate;
-        }
-
-        public String getId() { return id; }
-        public String getText() { return text; }
-        public boolean isCompleted() { return completed; }
-        public String getPriority() { return priority; }
-        public String getDueDate() { return dueDate; }
-    }
-
-    // REQUIRED FOR CalendarView
-    public boolean isConnected() {
-        try {
-            return conn != null && !conn.isClosed();
-        } catch (SQLException e) {
-            return false;
-        }
-    }
-
-    // REQUIRED FOR CalendarView
-    public Connection getConnection() {
-        return conn;
-    }
-}
\ No newline at end of file
+}
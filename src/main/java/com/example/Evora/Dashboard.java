@@ -1,5 +1,8 @@
 package com.example.Evora;
 
+import com.example.Evora.Analytics.DailyActivityService;
+import com.example.Evora.Loading.BackgroundLoader;
+import com.example.Evora.Loading.Skeleton;
 import com.example.Evora.Sidebar.SidebarController;
 import com.example.Evora.Theme.ThemeManager;
 import com.example.Evora.Theme.Theme;
@@ -123,19 +126,9 @@ public class Dashboard {
         statsRow.setAlignment(Pos.CENTER);
         statsRow.setPadding(new Insets(10, 0, 12, 0));
 
-        // Get real data from database
-        DashboardData data = getDashboardData();
-
-        String[][] statsData = {
-                {String.valueOf(data.tasksCompletedToday), "Tasks Completed Today", theme.getStatCardColor1(), "/Images/Tasks Icon.png"},
-                {String.valueOf(data.pomodorosCompletedToday), "Pomodoros Today", theme.getStatCardColor2(), "/Images/Timer Icon.png"},
-                {String.valueOf(data.notesCreated), "Notes Created", theme.getStatCardColor3(), "/Images/ToDo Icon.png"},
-                {data.averageMood + "/5", "Avg Mood Score", theme.getStatCardColor4(), "/Images/Mood Icon.png"}
-        };
-
-        for (String[] stat : statsData) {
-            VBox statCard = createStatCard(stat[0], stat[1], stat[2], stat[3], theme);
-            statsRow.getChildren().add(statCard);
+        // Placeholders until the real data arrives from the database
+        for (int i = 0; i < 4; i++) {
+            statsRow.getChildren().add(Skeleton.block(180, 200));
         }
 
         // Action Buttons
@@ -156,16 +149,37 @@ public class Dashboard {
         HBox insightsBox = new HBox(25);
         insightsBox.setAlignment(Pos.CENTER);
 
-        VBox focusBox = createFocusBox(theme, data);
-        VBox analyticsBox = createAnalyticsBox(theme, data);
-
-        insightsBox.getChildren().addAll(focusBox, analyticsBox);
+        insightsBox.getChildren().addAll(Skeleton.block(400, 330), Skeleton.block(400, 330));
 
         mainContent.getChildren().addAll(headerBox, cardsAndButtonsContainer, insightsBox);
 
+        // Get real data from database without blocking the UI
+        BackgroundLoader.forView("dashboard", this::getDashboardData,
+                data -> showDashboardData(data, theme, statsRow, insightsBox));
+
         return mainContent;
     }
 
+    private void showDashboardData(DashboardData data, Theme theme, HBox statsRow, HBox insightsBox) {
+        String[][] statsData = {
+                {String.valueOf(data.tasksCompletedToday), "Tasks Completed Today", theme.getStatCardColor1(), "/Images/Tasks Icon.png"},
+                {String.valueOf(data.pomodorosCompletedToday), "Pomodoros Today", theme.getStatCardColor2(), "/Images/Timer Icon.png"},
+                {String.valueOf(data.notesCreated), "Notes Created", theme.getStatCardColor3(), "/Images/ToDo Icon.png"},
+                {data.averageMood + "/5", "Avg Mood Score", theme.getStatCardColor4(), "/Images/Mood Icon.png"}
+        };
+
+        statsRow.getChildren().clear();
+        for (String[] stat : statsData) {
+            VBox statCard = createStatCard(stat[0], stat[1], stat[2], stat[3], theme);
+            statsRow.getChildren().add(statCard);
+        }
+
+        VBox focusBox = createFocusBox(theme, data);
+        VBox analyticsBox = createAnalyticsBox(theme, data);
+
+        insightsBox.getChildren().setAll(focusBox, analyticsBox);
+    }
+
     // Database methods to get real data - TO MATCH ANALYTICS FORMAT
     private DashboardData getDashboardData() {
         // FINAL CHECK: If user ID is still 0, use global
@@ -194,46 +208,40 @@ public class Dashboard {
             return data;
         }
 
+        // The rollup may still be building on first login
+        DailyActivityService.backfillIfNeeded(currentUserId);
+
         try (Connection conn = DatabaseConnection.getConnection()) {
             if (conn != null) {
                 System.out.println("✅ Database connection successful for user: " + currentUserId);
 
-                // TODAY'S DATA - Tasks completed today (including deleted tasks)
-                String todayTasksQuery = """
-                    SELECT COUNT(*) as completed_tasks 
-                    FROM ToDoTasks 
-                    WHERE user_id = ? AND is_completed = 1 
-                    AND CAST(completed_at AS DATE) = CAST(GETDATE() AS DATE)
-                    UNION ALL
-                    SELECT COUNT(*) as completed_tasks 
-                    FROM TaskDeletionLog 
-                    WHERE user_id = ? AND is_completed = 1 
-                    AND CAST(deleted_at AS DATE) = CAST(GETDATE() AS DATE)
+                // TODAY'S AND WEEKLY COUNTS - one range scan over the daily activity rollup
+                DailyActivityService.ensureSchema(conn);
+                String activityQuery = """
+                    SELECT
+                        SUM(CASE WHEN activity_date = CAST(GETDATE() AS DATE) THEN tasks_completed ELSE 0 END) as tasks_today,
+                        SUM(CASE WHEN activity_date = CAST(GETDATE() AS DATE) THEN pomodoros ELSE 0 END) as pomodoros_today,
+                        SUM(CASE WHEN activity_date > DATEADD(day, -7, CAST(GETDATE() AS DATE)) THEN tasks_completed ELSE 0 END) as completed_week,
+                        SUM(CASE WHEN activity_date > DATEADD(day, -7, CAST(GETDATE() AS DATE)) THEN tasks_created ELSE 0 END) as created_week,
+                        SUM(CASE WHEN activity_date > DATEADD(day, -7, CAST(GETDATE() AS DATE)) THEN pomodoros ELSE 0 END) as pomodoros_week,
+                        SUM(CASE WHEN activity_date <= DATEADD(day, -7, CAST(GETDATE() AS DATE)) THEN tasks_completed ELSE 0 END) as completed_previous_week,
+                        SUM(CASE WHEN activity_date <= DATEADD(day, -7, CAST(GETDATE() AS DATE)) THEN tasks_created ELSE 0 END) as created_previous_week
+                    FROM UserDailyActivity
+                    WHERE user_id = ? AND activity_date > DATEADD(day, -14, CAST(GETDATE() AS DATE))
                     """;
-                try (PreparedStatement stmt = conn.prepareStatement(todayTasksQuery)) {
-                    stmt.setInt(1, currentUserId);
-                    stmt.setInt(2, currentUserId);
-                    ResultSet rs = stmt.executeQuery();
-                    while (rs.next()) {
-                        data.tasksCompletedToday += rs.getInt("completed_tasks");
-                    }
-                    System.out.println("✅ Today's tasks: " + data.tasksCompletedToday);
-                }
-
-                // TODAY'S DATA - Pomodoros completed today
-                String todayPomodoroQuery = """
-                    SELECT COUNT(*) as pomodoros_today 
-                    FROM PomodoroSessions 
-                    WHERE user_id = ? AND status = 'Completed'
-                    AND CAST(start_time AS DATE) = CAST(GETDATE() AS DATE)
-                    """;
-                try (PreparedStatement stmt = conn.prepareStatement(todayPomodoroQuery)) {
+                try (PreparedStatement stmt = conn.prepareStatement(activityQuery)) {
                     stmt.setInt(1, currentUserId);
                     ResultSet rs = stmt.executeQuery();
                     if (rs.next()) {
+                        data.tasksCompletedToday = rs.getInt("tasks_today");
                         data.pomodorosCompletedToday = rs.getInt("pomodoros_today");
+                        data.tasksCompletedThisWeek = rs.getInt("completed_week");
+                        data.pomodorosThisWeek = rs.getInt("pomodoros_week");
+                        data.currentWeekCompletionRate = completionRate(data.tasksCompletedThisWeek, rs.getInt("created_week"));
+                        data.previousWeekCompletionRate = completionRate(rs.getInt("completed_previous_week"), rs.getInt("created_previous_week"));
                     }
-                    System.out.println("✅ Today's pomodoros: " + data.pomodorosCompletedToday);
+                    System.out.println("✅ Today's tasks: " + data.tasksCompletedToday + ", pomodoros: " + data.pomodorosCompletedToday);
+                    System.out.println("✅ Week completion: " + data.currentWeekCompletionRate + "% (previous " + data.previousWeekCompletionRate + "%)");
                 }
 
                 // TODAY'S DATA - Main task for today (highest priority task closest to current day)
@@ -291,98 +299,6 @@ public class Dashboard {
                     }
                     System.out.println("✅ Average mood: " + data.averageMood);
                 }
-
-                // WEEKLY DATA - Current week completion rate (including deleted tasks)
-                String currentWeekQuery = """
-                    SELECT 
-                        COUNT(CASE WHEN is_completed = 1 THEN 1 END) as completed,
-                        COUNT(*) as total
-                    FROM (
-                        SELECT is_completed FROM ToDoTasks 
-                        WHERE user_id = ? AND created_at >= DATEADD(day, -7, GETDATE())
-                        UNION ALL
-                        SELECT is_completed FROM TaskDeletionLog 
-                        WHERE user_id = ? AND created_at >= DATEADD(day, -7, GETDATE())
-                    ) combined_tasks
-                    """;
-                try (PreparedStatement stmt = conn.prepareStatement(currentWeekQuery)) {
-                    stmt.setInt(1, currentUserId);
-                    stmt.setInt(2, currentUserId);
-                    ResultSet rs = stmt.executeQuery();
-                    if (rs.next()) {
-                        int totalCompleted = rs.getInt("completed");
-                        int totalTasks = rs.getInt("total");
-                        data.currentWeekCompletionRate = totalTasks > 0 ? (totalCompleted * 100 / totalTasks) : 0;
-                    }
-                    System.out.println("✅ Current week completion: " + data.currentWeekCompletionRate + "%");
-                }
-
-                // WEEKLY DATA - Previous week completion rate (including deleted tasks)
-                String previousWeekQuery = """
-                    SELECT 
-                        COUNT(CASE WHEN is_completed = 1 THEN 1 END) as completed,
-                        COUNT(*) as total
-                    FROM (
-                        SELECT is_completed FROM ToDoTasks 
-                        WHERE user_id = ? AND created_at >= DATEADD(day, -14, GETDATE()) 
-                        AND created_at < DATEADD(day, -7, GETDATE())
-                        UNION ALL
-                        SELECT is_completed FROM TaskDeletionLog 
-                        WHERE user_id = ? AND created_at >= DATEADD(day, -14, GETDATE()) 
-                        AND created_at < DATEADD(day, -7, GETDATE())
-                    ) combined_tasks
-                    """;
-                try (PreparedStatement stmt = conn.prepareStatement(previousWeekQuery)) {
-                    stmt.setInt(1, currentUserId);
-                    stmt.setInt(2, currentUserId);
-                    ResultSet rs = stmt.executeQuery();
-                    if (rs.next()) {
-                        int totalCompleted = rs.getInt("completed");
-                        int totalTasks = rs.getInt("total");
-                        data.previousWeekCompletionRate = totalTasks > 0 ? (totalCompleted * 100 / totalTasks) : 0;
-                    }
-                    System.out.println("✅ Previous week completion: " + data.previousWeekCompletionRate + "%");
-                }
-
-                // WEEKLY DATA - Tasks completed this week (including deleted tasks)
-                String weekTasksQuery = """
-                    SELECT COUNT(*) as completed_tasks 
-                    FROM (
-                        SELECT task_id FROM ToDoTasks 
-                        WHERE user_id = ? AND is_completed = 1 
-                        AND completed_at >= DATEADD(day, -7, GETDATE())
-                        UNION ALL
-                        SELECT log_id FROM TaskDeletionLog 
-                        WHERE user_id = ? AND is_completed = 1 
-                        AND deleted_at >= DATEADD(day, -7, GETDATE())
-                    ) combined_completed
-                    """;
-                try (PreparedStatement stmt = conn.prepareStatement(weekTasksQuery)) {
-                    stmt.setInt(1, currentUserId);
-                    stmt.setInt(2, currentUserId);
-                    ResultSet rs = stmt.executeQuery();
-                    if (rs.next()) {
-                        data.tasksCompletedThisWeek = rs.getInt("completed_tasks");
-                    }
-                    System.out.println("✅ Weekly tasks: " + data.tasksCompletedThisWeek);
-                }
-
-                // WEEKLY DATA - Pomodoro sessions this week
-                String weekPomodoroQuery = """
-                    SELECT COUNT(*) as pomodoros_week 
-                    FROM PomodoroSessions 
-                    WHERE user_id = ? AND status = 'Completed'
-                    AND start_time >= DATEADD(day, -7, GETDATE())
-                    """;
-                try (PreparedStatement stmt = conn.prepareStatement(weekPomodoroQuery)) {
-                    stmt.setInt(1, currentUserId);
-                    ResultSet rs = stmt.executeQuery();
-                    if (rs.next()) {
-                        data.pomodorosThisWeek = rs.getInt("pomodoros_week");
-                    }
-                    System.out.println("✅ Weekly pomodoros: " + data.pomodorosThisWeek);
-                }
-
             }
         } catch (SQLException e) {
             System.out.println("❌ Error fetching dashboard data for user " + currentUserId + ": " + e.getMessage());
@@ -393,6 +309,11 @@ public class Dashboard {
         return data;
     }
 
+    // Completed vs created tasks in a period, capped at 100%
+    private int completionRate(int completed, int created) {
+        return created > 0 ? Math.min(completed * 100 / created, 100) : 0;
+    }
+
     private VBox createStatCard(String value, String label, String color, String imagePath, Theme theme) {
         VBox card = new VBox(6);
         card.setAlignment(Pos.CENTER);
@@ -0,0 +1,44 @@
+package com.example.Evora;
+
+import javafx.application.Platform;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Controllers announce writes here so cached views that show the same data can be dropped
+public class DataChanges {
+
+    public enum Type {
+        TASKS,
+        NOTES,
+        MOOD,
+        POMODORO,
+        PETS
+    }
+
+    private static final List<Consumer<Type>> listeners = new CopyOnWriteArrayList<>();
+
+    public static void addListener(Consumer<Type> listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(Consumer<Type> listener) {
+        listeners.remove(listener);
+    }
+
+    // Safe to call from any thread; listeners always run on the FX thread
+    public static void publish(Type type) {
+        if (Platform.isFxApplicationThread()) {
+            notifyListeners(type);
+        } else {
+            Platform.runLater(() -> notifyListeners(type));
+        }
+    }
+
+    private static void notifyListeners(Type type) {
+        for (Consumer<Type> listener : listeners) {
+            listener.accept(type);
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package com.example.Evora.Database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small bounded JDBC connection pool used behind {@link DatabaseConnection#getConnection()}.
+ * Callers keep using try-with-resources: closing a borrowed connection hands the
+ * physical connection back to the pool instead of logging out of SQL Server.
+ */
+public class ConnectionPool {
+
+    // Connections used more recently than this are trusted without a validation round trip
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int minIdle;
+    private final int maxTotal;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final int validationTimeoutSeconds;
+
+    // Idle connections, most recently returned first (LIFO keeps the hot ones warm)
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    // One permit per connection that may be handed out at the same time
+    private final Semaphore permits;
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed = false;
+
+    // Metrics
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowTimeouts = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder destroyedCount = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder totalBorrowWaitNanos = new LongAdder();
+    private final AtomicLong maxBorrowWaitNanos = new AtomicLong();
+
+    public ConnectionPool(String url, String username, String password,
+                          int initialSize, int maxTotal, long borrowTimeoutMillis,
+                          long idleTimeoutMillis, long maxLifetimeMillis, int validationTimeoutSeconds) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxTotal = Math.max(1, maxTotal);
+        this.minIdle = Math.max(0, Math.min(initialSize, this.maxTotal));
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.permits = new Semaphore(this.maxTotal, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "evora-db-pool");
+            t.setDaemon(true);
+            return t;
+        });
+
+        // Warm up the initial connections off the caller's thread so the first query
+        // only pays for one handshake, then keep evicting stale connections periodically
+        housekeeper.execute(this::fillToMinIdle);
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, 30_000));
+        housekeeper.scheduleWithFixedDelay(this::evictAndRefill, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                borrowTimeouts.increment();
+                throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis +
+                        "ms waiting for a database connection (" + getStats() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledEntry entry;
+            while ((entry = idle.pollFirst()) != null) {
+                if (isUsable(entry)) {
+                    break;
+                }
+                destroy(entry);
+            }
+            if (entry == null) {
+                entry = createEntry();
+            }
+
+            recordWait(System.nanoTime() - start);
+            borrowCount.increment();
+            activeConnections.incrementAndGet();
+            return entry.lease(this);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledEntry entry) {
+        long now = System.currentTimeMillis();
+        if (isExpired(entry, now)) {
+            return false;
+        }
+        if (now - entry.lastReturned < VALIDATION_BYPASS_MILLIS) {
+            return true;
+        }
+        try {
+            if (entry.raw.isValid(validationTimeoutSeconds)) {
+                return true;
+            }
+        } catch (SQLException ignored) {
+            // treated as invalid below
+        }
+        validationFailures.increment();
+        return false;
+    }
+
+    private boolean isExpired(PooledEntry entry, long now) {
+        return maxLifetimeMillis > 0 && now - entry.created >= maxLifetimeMillis;
+    }
+
+    // Called by the connection proxy when the caller closes it
+    void giveBack(PooledEntry entry, boolean broken) {
+        activeConnections.decrementAndGet();
+        try {
+            if (closed || broken || isExpired(entry, System.currentTimeMillis()) || !resetState(entry)) {
+                destroy(entry);
+            } else {
+                entry.lastReturned = System.currentTimeMillis();
+                idle.offerFirst(entry);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Undo anything a caller changed so the next borrower gets a clean connection
+    private boolean resetState(PooledEntry entry) {
+        try {
+            if (entry.raw.isClosed()) {
+                return false;
+            }
+            if (!entry.raw.getAutoCommit()) {
+                entry.raw.rollback();
+                entry.raw.setAutoCommit(true);
+            }
+            if (entry.raw.isReadOnly()) {
+                entry.raw.setReadOnly(false);
+            }
+            entry.raw.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Discarding pooled connection: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private PooledEntry createEntry() throws SQLException {
+        Connection raw;
+        // For Windows Authentication (empty username/password)
+        if ((username == null || username.isEmpty()) && (password == null || password.isEmpty())) {
+            raw = DriverManager.getConnection(url);
+        } else {
+            raw = DriverManager.getConnection(url, username, password);
+        }
+        totalConnections.incrementAndGet();
+        createdCount.increment();
+        return new PooledEntry(raw);
+    }
+
+    private void destroy(PooledEntry entry) {
+        totalConnections.decrementAndGet();
+        destroyedCount.increment();
+        try {
+            entry.raw.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    private void evictAndRefill() {
+        if (closed) return;
+
+        long now = System.currentTimeMillis();
+        int keep = idle.size();
+        Iterator<PooledEntry> it = idle.descendingIterator(); // oldest returns first
+        while (it.hasNext()) {
+            PooledEntry entry = it.next();
+            boolean idleTooLong = idleTimeoutMillis > 0 && now - entry.lastReturned >= idleTimeoutMillis && keep > minIdle;
+            if ((isExpired(entry, now) || idleTooLong) && idle.remove(entry)) {
+                keep--;
+                destroy(entry);
+            }
+        }
+        fillToMinIdle();
+    }
+
+    private void fillToMinIdle() {
+        // Only create while a permit is free so warm-up never pushes the pool past maxTotal
+        while (!closed && idle.size() < minIdle && totalConnections.get() < maxTotal && permits.tryAcquire()) {
+            try {
+                PooledEntry entry = createEntry();
+                idle.offerLast(entry);
+            } catch (SQLException e) {
+                System.err.println("Could not pre-open database connection: " + e.getMessage());
+                return;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalBorrowWaitNanos.add(nanos);
+        maxBorrowWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public void shutdown() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            destroy(entry);
+        }
+        // Borrowed connections are closed as they come back (see giveBack)
+    }
+
+    public Stats getStats() {
+        long borrows = borrowCount.sum();
+        return new Stats(
+                totalConnections.get(),
+                activeConnections.get(),
+                idle.size(),
+                maxTotal,
+                borrows,
+                borrowTimeouts.sum(),
+                createdCount.sum(),
+                destroyedCount.sum(),
+                validationFailures.sum(),
+                borrows == 0 ? 0 : totalBorrowWaitNanos.sum() / borrows / 1_000_000.0,
+                maxBorrowWaitNanos.get() / 1_000_000.0
+        );
+    }
+
+    // One physical connection and its bookkeeping
+    static class PooledEntry {
+        final Connection raw;
+        final long created = System.currentTimeMillis();
+        volatile long lastReturned = created;
+
+        PooledEntry(Connection raw) {
+            this.raw = raw;
+        }
+
+        Connection lease(ConnectionPool pool) {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new LeaseHandler(pool, this));
+        }
+    }
+
+    // Proxy handed to callers; close() returns the connection instead of closing it
+    private static class LeaseHandler implements InvocationHandler {
+        private final ConnectionPool pool;
+        private final PooledEntry entry;
+        private final List<Statement> statements = new ArrayList<>();
+        private boolean returned = false;
+        private boolean broken = false;
+
+        LeaseHandler(ConnectionPool pool, PooledEntry entry) {
+            this.pool = pool;
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    release();
+                    return null;
+                case "isClosed":
+                    return returned || entry.raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + entry.raw + "]";
+                default:
+                    break;
+            }
+
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+
+            try {
+                Object result = method.invoke(entry.raw, args);
+                if (result instanceof Statement) {
+                    // Track statements so ones the caller forgot to close don't pile up on a reused connection
+                    statements.add((Statement) result);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException && isFatal((SQLException) cause)) {
+                    broken = true;
+                }
+                throw cause;
+            }
+        }
+
+        private synchronized void release() {
+            if (returned) return;
+            returned = true;
+
+            for (Statement statement : statements) {
+                try {
+                    if (!statement.isClosed()) {
+                        statement.close();
+                    }
+                } catch (SQLException ignored) {
+                    // the connection is validated again before it is reused
+                }
+            }
+            statements.clear();
+            pool.giveBack(entry, broken);
+        }
+
+        // SQLState class 08 = connection exception
+        private boolean isFatal(SQLException e) {
+            String state = e.getSQLState();
+            return state != null && state.startsWith("08");
+        }
+    }
+
+    public static class Stats {
+        private final int totalConnections;
+        private final int activeConnections;
+        private final int idleConnections;
+        private final int maxTotal;
+        private final long borrowCount;
+        private final long borrowTimeouts;
+        private final long createdCount;
+        private final long destroyedCount;
+        private final long validationFailures;
+        private final double averageBorrowWaitMillis;
+        private final double maxBorrowWaitMillis;
+
+        public Stats(int totalConnections, int activeConnections, int idleConnections, int maxTotal,
+                     long borrowCount, long borrowTimeouts, long createdCount, long destroyedCount,
+                     long validationFailures, double averageBorrowWaitMillis, double maxBorrowWaitMillis) {
+            this.totalConnections = totalConnections;
+            this.activeConnections = activeConnections;
+            this.idleConnections = idleConnections;
+            this.maxTotal = maxTotal;
+            this.borrowCount = borrowCount;
+            this.borrowTimeouts = borrowTimeouts;
+            this.createdCount = createdCount;
+            this.destroyedCount = destroyedCount;
+            this.validationFailures = validationFailures;
+            this.averageBorrowWaitMillis = averageBorrowWaitMillis;
+            this.maxBorrowWaitMillis = maxBorrowWaitMillis;
+        }
+
+        public int getTotalConnections() { return totalConnections; }
+        public int getActiveConnections() { return activeConnections; }
+        public int getIdleConnections() { return idleConnections; }
+        public int getMaxTotal() { return maxTotal; }
+        public long getBorrowCount() { return borrowCount; }
+        public long getBorrowTimeouts() { return borrowTimeouts; }
+        public long getCreatedCount() { return createdCount; }
+        public long getDestroyedCount() { return destroyedCount; }
+        public long getValidationFailures() { return validationFailures; }
+        public double getAverageBorrowWaitMillis() { return averageBorrowWaitMillis; }
+        public double getMaxBorrowWaitMillis() { return maxBorrowWaitMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("pool total=%d active=%d idle=%d max=%d borrows=%d timeouts=%d " +
+                            "created=%d destroyed=%d invalid=%d avgWait=%.3fms maxWait=%.3fms",
+                    totalConnections, activeConnections, idleConnections, maxTotal, borrowCount, borrowTimeouts,
+                    createdCount, destroyedCount, validationFailures, averageBorrowWaitMillis, maxBorrowWaitMillis);
+        }
+    }
+}
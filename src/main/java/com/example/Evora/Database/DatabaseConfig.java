@@ -45,4 +45,20 @@ public class DatabaseConfig {
     public static int getMaxTotal() {
         return Integer.parseInt(properties.getProperty("db.pool.maxTotal", "20"));
     }
+
+    public static long getBorrowTimeoutMillis() {
+        return Long.parseLong(properties.getProperty("db.pool.borrowTimeoutMillis", "5000"));
+    }
+
+    public static long getIdleTimeoutMillis() {
+        return Long.parseLong(properties.getProperty("db.pool.idleTimeoutMillis", "300000"));
+    }
+
+    public static long getMaxLifetimeMillis() {
+        return Long.parseLong(properties.getProperty("db.pool.maxLifetimeMillis", "1800000"));
+    }
+
+    public static int getValidationTimeoutSeconds() {
+        return Integer.parseInt(properties.getProperty("db.pool.validationTimeoutSeconds", "2"));
+    }
 }
\ No newline at end of file
@@ -1,21 +1,53 @@
 package com.example.Evora.Database;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DatabaseConnection {
 
+    private static volatile ConnectionPool pool;
+
+    // Borrow a pooled connection - closing it (try-with-resources) returns it to the pool
     public static Connection getConnection() throws SQLException {
-        String url = DatabaseConfig.getUrl();
-        String username = DatabaseConfig.getUsername();
-        String password = DatabaseConfig.getPassword();
-
-        // For Windows Authentication (empty username/password)
-        if (username.isEmpty() && password.isEmpty()) {
-            return DriverManager.getConnection(url);
-        } else {
-            return DriverManager.getConnection(url, username, password);
+        return getPool().borrow();
+    }
+
+    private static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseConnection.class) {
+                current = pool;
+                if (current == null) {
+                    current = new ConnectionPool(
+                            DatabaseConfig.getUrl(),
+                            DatabaseConfig.getUsername(),
+                            DatabaseConfig.getPassword(),
+                            DatabaseConfig.getInitialPoolSize(),
+                            DatabaseConfig.getMaxTotal(),
+                            DatabaseConfig.getBorrowTimeoutMillis(),
+                            DatabaseConfig.getIdleTimeoutMillis(),
+                            DatabaseConfig.getMaxLifetimeMillis(),
+                            DatabaseConfig.getValidationTimeoutSeconds()
+                    );
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public static ConnectionPool.Stats getPoolStats() {
+        return getPool().getStats();
+    }
+
+    // Close every pooled connection - called once when the application exits
+    public static void shutdown() {
+        synchronized (DatabaseConnection.class) {
+            if (pool != null) {
+                System.out.println("Closing database pool: " + pool.getStats());
+                pool.shutdown();
+                pool = null;
+            }
         }
     }
 
@@ -38,4 +70,4 @@ public class DatabaseConnection {
             return false;
         }
     }
-}
\ No newline at end of file
+}
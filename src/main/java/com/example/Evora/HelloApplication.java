@@ -1,6 +1,12 @@
 package com.example.Evora;
 
+import com.example.Evora.Database.DatabaseConnection;
 import com.example.Evora.Login.LoginView;
+import com.example.Evora.Notes.NotePositionWriter;
+import com.example.Evora.Pets.ExperienceService;
+import com.example.Evora.Sound.SoundEffects;
+import com.example.Evora.ToDoList.TodoController;
+import com.example.Evora.WhiteNoise.NoiseMixer;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
@@ -15,6 +21,17 @@ public class HelloApplication extends Application {
         primaryStage = stage;
         showLoginScreen();
     }
+
+    @Override
+    public void stop() {
+        // Write tasks, note positions and XP still waiting in their queues, then release pooled database connections
+        TodoController.flushWrites();
+        NotePositionWriter.flush();
+        ExperienceService.flush();
+        DatabaseConnection.shutdown();
+        SoundEffects.shutdown();
+        NoiseMixer.shutdown();
+    }
     private void showLoginScreen() {
         try {
             LoginView loginViewApp = new LoginView();
@@ -0,0 +1,121 @@
+package com.example.Evora.Loading;
+
+import javafx.application.Platform;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs database work off the JavaFX Application Thread and hands the result back on it.
+ * Loads started with {@link #forView} belong to the view on screen and are cancelled by
+ * {@link #cancelViewLoads()} when MainController switches tabs, so a slow query for an old
+ * tab can never overwrite the new one.
+ */
+public class BackgroundLoader {
+
+    public interface Work<T> {
+        T call() throws Exception;
+    }
+
+    // One virtual thread per load; they block on JDBC without tying up platform threads
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("evora-loader-", 0).factory());
+
+    private static final Set<Load<?>> viewLoads = ConcurrentHashMap.newKeySet();
+
+    // Load data for the view currently on screen
+    public static <T> Load<T> forView(String name, Work<T> work, Consumer<T> onLoaded) {
+        return start(name, work, onLoaded, null, true);
+    }
+
+    // Load data that is not tied to a view (sidebar, mascot, ...)
+    public static <T> Load<T> load(String name, Work<T> work, Consumer<T> onLoaded) {
+        return start(name, work, onLoaded, null, false);
+    }
+
+    public static <T> Load<T> load(String name, Work<T> work, Consumer<T> onLoaded, Consumer<Throwable> onFailed) {
+        return start(name, work, onLoaded, onFailed, false);
+    }
+
+    private static <T> Load<T> start(String name, Work<T> work, Consumer<T> onLoaded, Consumer<Throwable> onFailed,
+                                     boolean forView) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+            try {
+                return work.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, EXECUTOR);
+
+        Load<T> load = new Load<>(name, future);
+        if (forView) {
+            viewLoads.add(load); // until its result has been handed to the view
+        }
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            if (load.isCancelled()) {
+                return; // the view that asked for this is gone
+            }
+            viewLoads.remove(load);
+            if (error == null) {
+                onLoaded.accept(result);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (onFailed != null) {
+                    onFailed.accept(cause);
+                } else {
+                    System.err.println("Error loading " + name + ": " + cause.getMessage());
+                    cause.printStackTrace();
+                }
+            }
+        }));
+        return load;
+    }
+
+    // Drop the results of every load started for the current view.
+    // Returns true if any had not been delivered yet, i.e. the view was left half-built.
+    public static boolean cancelViewLoads() {
+        boolean cancelledAny = !viewLoads.isEmpty();
+        for (Load<?> load : viewLoads) {
+            load.cancel();
+        }
+        viewLoads.clear();
+        return cancelledAny;
+    }
+
+    // Handle to a running load
+    public static class Load<T> {
+        private final String name;
+        private final CompletableFuture<T> future;
+        private volatile boolean cancelled = false;
+
+        private Load(String name, CompletableFuture<T> future) {
+            this.name = name;
+            this.future = future;
+        }
+
+        // A query that is already running is left to finish (interrupting JDBC would break
+        // the pooled connection); its result is simply never delivered.
+        public void cancel() {
+            cancelled = true;
+            viewLoads.remove(this);
+            future.cancel(false);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
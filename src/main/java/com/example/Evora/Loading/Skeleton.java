@@ -0,0 +1,73 @@
+package com.example.Evora.Loading;
+
+import com.example.Evora.Theme.Theme;
+import com.example.Evora.Theme.ThemeManager;
+import javafx.animation.Animation;
+import javafx.animation.FadeTransition;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.util.Duration;
+
+// Pulsing grey placeholders shown while a view's data is loading
+public class Skeleton {
+
+    // One rounded placeholder block
+    public static Region block(double width, double height) {
+        Theme theme = ThemeManager.getCurrentTheme();
+
+        Region block = new Region();
+        block.setPrefSize(width, height);
+        block.setMinSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        block.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        block.setStyle("-fx-background-color: " + theme.getCardColor() + "; -fx-background-radius: 15; " +
+                "-fx-border-color: rgba(0,0,0,0.06); -fx-border-radius: 15;");
+
+        FadeTransition pulse = new FadeTransition(Duration.millis(800), block);
+        pulse.setFromValue(1.0);
+        pulse.setToValue(0.45);
+        pulse.setAutoReverse(true);
+        pulse.setCycleCount(Animation.INDEFINITE);
+
+        // Only animate while on screen, otherwise the animation would keep the node alive
+        block.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null) {
+                pulse.play();
+            } else {
+                pulse.stop();
+            }
+        });
+        return block;
+    }
+
+    // A row of equally sized blocks, e.g. for stat cards
+    public static HBox row(int count, double width, double height) {
+        HBox row = new HBox(20);
+        row.setAlignment(Pos.CENTER);
+        for (int i = 0; i < count; i++) {
+            row.getChildren().add(block(width, height));
+        }
+        return row;
+    }
+
+    // Placeholder for a whole page: a caption and a few card shaped blocks
+    public static VBox page(String message) {
+        Theme theme = ThemeManager.getCurrentTheme();
+
+        VBox page = new VBox(20);
+        page.setPadding(new Insets(30));
+        page.setAlignment(Pos.TOP_CENTER);
+        page.setStyle("-fx-background-color: " + theme.getBackgroundColor() + ";");
+
+        Label caption = new Label(message);
+        caption.setFont(Font.font("Segoe UI", 16));
+        caption.setStyle("-fx-text-fill: " + theme.getTextSecondary() + ";");
+
+        page.getChildren().addAll(caption, row(4, 180, 140), block(820, 220), block(820, 160));
+        return page;
+    }
+}
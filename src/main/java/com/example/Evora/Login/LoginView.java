@@ -1,9 +1,17 @@
 package com.example.Evora.Login;
 
+import com.example.Evora.Loading.BackgroundLoader;
+import javafx.animation.FadeTransition;
 import javafx.application.Application;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.image.WritablePixelFormat;
 import javafx.scene.layout.*;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
@@ -12,12 +20,27 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 public class LoginView extends Application {
 
+    private static final String WELCOME_VIDEO = "/Welcome/welcome.mp4";
+    private static final Path POSTER_DIR = Paths.get(System.getProperty("user.home"), ".evora");
+    // How far into the video the poster frame is taken (the very first frame is often black)
+    private static final double POSTER_AT_MILLIS = 300;
+
     private static Stage primaryStage;
     private MediaPlayer mediaPlayer;
+    private Scene loginScene;
     private LoginController controller;
     private TextField emailField;
     private PasswordField passwordField;
@@ -50,10 +73,22 @@ public class LoginView extends Application {
         BorderPane root = createLoginUI();
         Scene scene = new Scene(root);
         scene.setFill(Color.BLACK);
+        loginScene = scene;
 
         // Show immediately - video loads in background
         stage.setScene(scene);
         stage.show();
+
+        // Nothing else stops the video once the dashboard replaces this scene
+        stage.sceneProperty().addListener(new ChangeListener<>() {
+            @Override
+            public void changed(ObservableValue<? extends Scene> obs, Scene old, Scene current) {
+                if (current != scene) {
+                    stage.sceneProperty().removeListener(this);
+                    stop();
+                }
+            }
+        });
     }
 
     private BorderPane createLoginUI() {
@@ -80,16 +115,44 @@ public class LoginView extends Application {
         StackPane videoContainer = new StackPane();
         videoContainer.setStyle("-fx-background-color: #000000;");
 
-        // Create video - SIMPLE AND FAST
-        MediaView mediaView = setupVideoFast();
+        // A still of the video, saved by an earlier run, shows until the video is playing
+        ImageView poster = new ImageView();
+        poster.setPreserveRatio(false);
+        poster.fitWidthProperty().bind(videoContainer.widthProperty());
+        poster.fitHeightProperty().bind(videoContainer.heightProperty());
+        URL videoUrl = getClass().getResource(WELCOME_VIDEO);
+
+        MediaView mediaView = new MediaView();
         mediaView.setPreserveRatio(false);
+        mediaView.setOpacity(0);
         mediaView.fitWidthProperty().bind(videoContainer.widthProperty());
         mediaView.fitHeightProperty().bind(videoContainer.heightProperty());
 
-        videoContainer.getChildren().add(mediaView);
+        videoContainer.getChildren().addAll(poster, mediaView);
+        if (videoUrl != null) {
+            loadPoster(videoUrl, poster, mediaView);
+        }
         return videoContainer;
     }
 
+    // Looking up and reading the saved poster touches the disk, so it is done on a loader
+    // thread; the video is started once it is known whether a poster still has to be saved
+    private void loadPoster(URL videoUrl, ImageView poster, MediaView mediaView) {
+        BackgroundLoader.load("welcome poster", () -> {
+            Path file = posterFile(videoUrl);
+            Image image = file != null && Files.exists(file) ? new Image(file.toUri().toString()) : null;
+            return new Poster(file, image);
+        }, saved -> {
+            if (primaryStage.getScene() != loginScene) {
+                return; // already logged in
+            }
+            if (saved.image() != null) {
+                poster.setImage(saved.image());
+            }
+            startVideo(videoUrl, mediaView, saved.image() == null ? saved.file() : null);
+        }, error -> System.out.println("Could not read welcome poster: " + error.getMessage()));
+    }
+
     private void setupEnterKeySupport() {
         // Add Enter key support for login form
         if (emailField != null) {
@@ -147,31 +210,94 @@ public class LoginView extends Application {
         }
     }
 
-    private MediaView setupVideoFast() {
-        MediaView mediaView = new MediaView();
+    // The media pipeline is built on a loader thread and only put on screen once it is READY, so
+    // the login form never waits for it. In low power mode the poster just stays. posterFile is
+    // where to save a poster, or null if there already is one.
+    private void startVideo(URL videoUrl, MediaView mediaView, Path posterFile) {
+        BackgroundLoader.load("welcome video", () -> {
+            if (LowPowerMode.isOn()) {
+                return null;
+            }
+            return new MediaPlayer(new Media(videoUrl.toString()));
+        }, player -> {
+            if (player == null) {
+                return;
+            }
+            if (primaryStage.getScene() != loginScene) {
+                player.dispose(); // already logged in
+                return;
+            }
+            mediaPlayer = player;
+            player.setCycleCount(MediaPlayer.INDEFINITE);
+            player.setVolume(0);
+            player.setOnError(() -> System.out.println("Video error: " + player.getError().getMessage()));
+            Runnable show = () -> {
+                if (mediaView.getMediaPlayer() != player) {
+                    mediaView.setMediaPlayer(player);
+                    player.play();
+                }
+            };
+            player.setOnReady(show);
+            if (player.getStatus() == MediaPlayer.Status.READY) {
+                show.run(); // became READY on the loader thread, before there was a handler
+            }
 
-        try {
-            URL videoUrl = getClass().getResource("/Welcome/welcome.mp4");
-            if (videoUrl != null) {
-                Media media = new Media(videoUrl.toString());
-                mediaPlayer = new MediaPlayer(media);
+            // Fade the video in over the poster once a frame is showing; save that frame as the
+            // poster for next time if there isn't one yet
+            player.currentTimeProperty().addListener(new ChangeListener<>() {
+                @Override
+                public void changed(ObservableValue<? extends Duration> obs, Duration old, Duration time) {
+                    if (time.greaterThan(Duration.millis(POSTER_AT_MILLIS))) {
+                        player.currentTimeProperty().removeListener(this);
+                        if (posterFile != null) {
+                            mediaView.setOpacity(1); // only for the snapshot; no frame is drawn in between
+                            WritableImage frame = mediaView.snapshot(null, null);
+                            mediaView.setOpacity(0);
+                            savePoster(frame, posterFile);
+                        }
+                        FadeTransition fade = new FadeTransition(Duration.millis(400), mediaView);
+                        fade.setToValue(1);
+                        fade.play();
+                    }
+                }
+            });
+            System.out.println("▶️ Welcome video ready");
+        }, error -> System.out.println("Video error: " + error.getMessage()));
+    }
 
-                // SIMPLE SETUP - NO COMPLEX LISTENERS
-                mediaView.setMediaPlayer(mediaPlayer);
-                mediaView.setPreserveRatio(false);
-                mediaPlayer.setCycleCount(MediaPlayer.INDEFINITE);
-                mediaPlayer.setVolume(0);
+    // Keyed by the video's size, so a new video gets a new poster
+    private static Path posterFile(URL videoUrl) {
+        try {
+            long length = videoUrl.openConnection().getContentLengthLong();
+            return POSTER_DIR.resolve("welcome_" + length + ".png");
+        } catch (IOException e) {
+            return null;
+        }
+    }
 
-                // START PLAYING IMMEDIATELY - don't wait for "ready"
-                mediaPlayer.play();
+    private record Poster(Path file, Image image) {
+    }
 
-                System.out.println("▶️ Video started instantly");
-            }
-        } catch (Exception e) {
-            System.out.println("Video error: " + e.getMessage());
+    private static void savePoster(WritableImage frame, Path posterFile) {
+        int width = (int) frame.getWidth();
+        int height = (int) frame.getHeight();
+        if (width == 0 || height == 0) {
+            return;
         }
-
-        return mediaView;
+        int[] pixels = new int[width * height];
+        frame.getPixelReader().getPixels(0, 0, width, height, WritablePixelFormat.getIntArgbInstance(), pixels, 0, width);
+
+        BackgroundLoader.load("welcome poster", () -> {
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            image.setRGB(0, 0, width, height, pixels, 0, width);
+            Files.createDirectories(POSTER_DIR);
+            // Written to a temp file and moved so a half-written poster is never read
+            Path tmp = Files.createTempFile(POSTER_DIR, "poster", ".tmp");
+            ImageIO.write(image, "png", tmp.toFile());
+            Files.move(tmp, posterFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return null;
+        }, ignored -> System.out.println("🖼 Saved welcome poster"),
+           error -> System.out.println("Could not save welcome poster: " + error.getMessage()));
     }
 
     private VBox createLoginSection() {
@@ -649,6 +775,7 @@ public class LoginView extends Application {
         if (mediaPlayer != null) {
             mediaPlayer.stop();
             mediaPlayer.dispose();
+            mediaPlayer = null;
         }
     }
 
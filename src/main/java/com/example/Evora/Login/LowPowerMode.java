@@ -0,0 +1,100 @@
+package com.example.Evora.Login;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether to skip decorative motion like the login video. It is on when asked for
+ * (-Devora.lowPower=true or EVORA_LOW_POWER=1), when the computer is running on battery, or
+ * when the OS is set to reduce motion / not animate. The OS checks run small system commands,
+ * so call this off the FX thread.
+ */
+public class LowPowerMode {
+
+    private static final long COMMAND_TIMEOUT_SECONDS = 2;
+
+    public static boolean isOn() {
+        if (requested()) {
+            System.out.println("🔋 Low power mode: requested");
+            return true;
+        }
+        if (onBattery()) {
+            System.out.println("🔋 Low power mode: running on battery");
+            return true;
+        }
+        if (reducedMotion()) {
+            System.out.println("🔋 Low power mode: reduced motion is on");
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean requested() {
+        String property = System.getProperty("evora.lowPower");
+        String env = System.getenv("EVORA_LOW_POWER");
+        return "true".equalsIgnoreCase(property) || "1".equals(env) || "true".equalsIgnoreCase(env);
+    }
+
+    private static boolean onBattery() {
+        String os = System.getProperty("os.name", "").toLowerCase();
+        if (os.contains("win")) {
+            // BatteryStatus 1 = discharging; desktops have no Win32_Battery and print nothing
+            return run("powershell", "-NoProfile", "-Command", "(Get-CimInstance Win32_Battery).BatteryStatus")
+                    .trim().equals("1");
+        }
+        if (os.contains("mac")) {
+            return run("pmset", "-g", "batt").contains("'Battery Power'");
+        }
+        Path supplies = Paths.get("/sys/class/power_supply");
+        if (!Files.isDirectory(supplies)) {
+            return false;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(supplies)) {
+            for (Path supply : entries) {
+                Path type = supply.resolve("type");
+                Path status = supply.resolve("status");
+                if (Files.exists(type) && Files.readString(type).trim().equals("Battery")
+                        && Files.exists(status) && Files.readString(status).trim().equals("Discharging")) {
+                    return true;
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Could not read battery status: " + e.getMessage());
+        }
+        return false;
+    }
+
+    private static boolean reducedMotion() {
+        String os = System.getProperty("os.name", "").toLowerCase();
+        if (os.contains("win")) {
+            // "Animate controls and elements inside windows" off sets MinAnimate to 0
+            String output = run("reg", "query", "HKCU\\Control Panel\\Desktop\\WindowMetrics", "/v", "MinAnimate");
+            return output.contains("MinAnimate") && output.trim().endsWith("0");
+        }
+        if (os.contains("mac")) {
+            return run("defaults", "read", "com.apple.universalaccess", "reduceMotion").trim().equals("1");
+        }
+        return run("gsettings", "get", "org.gnome.desktop.interface", "enable-animations").trim().equals("false");
+    }
+
+    // The command's output, or "" if it isn't there, fails or takes too long
+    private static String run(String... command) {
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            if (!process.waitFor(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return "";
+            }
+            return process.exitValue() == 0 ? new String(process.getInputStream().readAllBytes()) : "";
+        } catch (IOException e) {
+            return ""; // the command doesn't exist on this system
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+    }
+}
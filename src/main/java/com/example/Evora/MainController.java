@@ -2,12 +2,17 @@
 package com.example.Evora;
 
 import com.example.Evora.Analytics.AnalyticsView;
+import com.example.Evora.Analytics.DailyActivityService;
+import com.example.Evora.Loading.BackgroundLoader;
+import com.example.Evora.Loading.Skeleton;
 import com.example.Evora.Mood.MoodController;
 import com.example.Evora.Mood.MoodView;
+import com.example.Evora.Pets.ExperienceService;
 import com.example.Evora.Pets.PetsController;
 import com.example.Evora.Pets.PetsView;
 import com.example.Evora.Sidebar.Sidebar;
 import com.example.Evora.Sidebar.SidebarController;
+import com.example.Evora.Sound.SoundEffects;
 import com.example.Evora.Notes.NotesView;
 import com.example.Evora.Notes.NotesController;
 import com.example.Evora.Calendar.CalendarView;
@@ -16,6 +21,8 @@ import com.example.Evora.WhiteNoise.WhiteNoiseView;
 import com.example.Evora.Theme.*;
 import com.example.Evora.Pomodoro.PomodoroController;
 import com.example.Evora.Pomodoro.PomodoroView;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -27,6 +34,8 @@ import javafx.stage.Screen;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 
+import java.util.function.Consumer;
+
 public class MainController implements ThemeManager.ThemeChangeListener {
     private Stage stage;
     private BorderPane root;
@@ -41,6 +50,10 @@ public class MainController implements ThemeManager.ThemeChangeListener {
     private PomodoroController pomodoroController;
     private ScrollPane pomodoroContent; // Also keep the UI pane
 
+    // Views of visited tabs, so switching back doesn't rebuild them and re-run their queries
+    private final ViewCache viewCache = new ViewCache(8, 40_000);
+    private final Consumer<DataChanges.Type> dataChangeListener = this::onDataChanged;
+
     public MainController(Stage stage, String userName, int userId) {
         this.stage = stage;
         this.userName = userName;
@@ -54,6 +67,10 @@ public class MainController implements ThemeManager.ThemeChangeListener {
 
         // Register as theme change listener
         themeManager.addThemeChangeListener(this);
+        DataChanges.addListener(dataChangeListener);
+
+        // XP is kept in memory from here on; the sidebar follows it
+        ExperienceService.start(userId);
 
         // Sidebar
         sidebarController = new SidebarController();
@@ -62,12 +79,20 @@ public class MainController implements ThemeManager.ThemeChangeListener {
         root.setLeft(sidebar);
 
         // Set initial pet in sidebar
-        PetsController petsController = new PetsController(userId);
-        PetsController.PetInfo initialPet = petsController.getCurrentPetForSidebar();
-        sidebar.updateMascot(initialPet.getName(), initialPet.getSpecies(), initialPet.getGifFilename());
+        BackgroundLoader.load("sidebar mascot", () -> new PetsController(userId).getCurrentPetForSidebar(),
+                pet -> sidebar.updateMascot(pet.getName(), pet.getSpecies(), pet.getGifFilename()));
 
-        //refresh experience immediately after mascot setup
-        refreshSidebarExperience();
+        // Build the daily activity rollup for users who predate it, before anything writes to it
+        BackgroundLoader.load("daily activity backfill", () -> {
+            DailyActivityService.backfillIfNeeded(userId);
+            return null;
+        }, ignored -> {});
+
+        // Decode the sound effects now so the first chime plays without a delay
+        BackgroundLoader.load("sound effects", () -> {
+            SoundEffects.preload();
+            return null;
+        }, ignored -> {});
 
         showDashboard();
 
@@ -83,6 +108,18 @@ public class MainController implements ThemeManager.ThemeChangeListener {
         stage.setScene(scene);
         stage.setTitle("Pastel Productivity Dashboard");
 
+        // Logging out replaces this scene (from the sidebar button or SidebarController); drop the
+        // static listeners then, or this controller and its cached views would outlive the session
+        stage.sceneProperty().addListener(new ChangeListener<>() {
+            @Override
+            public void changed(ObservableValue<? extends Scene> obs, Scene old, Scene current) {
+                if (current != scene) {
+                    stage.sceneProperty().removeListener(this);
+                    cleanup();
+                }
+            }
+        });
+
         // Set minimum size - minimum width but full height
         stage.setMinWidth(1300);
         stage.setMinHeight(screenHeight);
@@ -115,16 +152,14 @@ public class MainController implements ThemeManager.ThemeChangeListener {
         stage.show();
     }
 
-    //refresh sidebar experience
-    public void refreshSidebarExperience() {
-        sidebar.refreshExperienceFromDatabase(userId);
-    }
-
     @Override
     public void onThemeChanged(Theme newTheme) {
         // Update the scene background
         applyThemeToScene(root.getScene(), newTheme);
 
+        // Cached views re-style themselves when next shown (or get rebuilt)
+        viewCache.themeChanged();
+
         // Refresh the current active view
         refreshCurrentView();
 
@@ -141,45 +176,28 @@ public class MainController implements ThemeManager.ThemeChangeListener {
     }
 
     private void refreshCurrentView() {
-        // Refresh the currently active view with the new theme
-        switch (currentActiveView) {
-            case "dashboard":
-                showDashboard();
-                break;
-            case "timer":
-                showPomodoroTimer();
-                break;
-            case "mood":
-                showMood();
-                break;
-            case "todos":
-                showTodoList();
-                break;
-            case "calendar":
-                showCalendar();
-                break;
-            case "notes":
-                showNotes();
-                break;
-            case "pet":
-                showPets();
-                break;
-            case "stats":
-                System.out.println("Refreshing Analytics with new theme");
-                break;
-            case "whitenoise":
-                showWhiteNoisePlayer();
-                break;
-            case "settings":
-                showSettings();
-                break;
+        // Anything the view was still loading is dropped below, so don't keep it half-built
+        if (BackgroundLoader.cancelViewLoads()) {
+            viewCache.invalidate(currentActiveView);
         }
+
+        // Refresh the currently active view with the new theme
+        showView(currentActiveView);
     }
 
     private void handleNavigation(String tab) {
+        // Results still loading for the view we are leaving must not land on the next one;
+        // if there were any, the cached copy of that view is incomplete
+        if (BackgroundLoader.cancelViewLoads()) {
+            viewCache.invalidate(currentActiveView);
+        }
+
         this.currentActiveView = tab;
-        refreshSidebarExperience(); //refresh whenever user navigates
 
+        showView(tab);
+    }
+
+    private void showView(String tab) {
         switch (tab) {
             case "dashboard":
                 showDashboard();
@@ -216,30 +234,65 @@ public class MainController implements ThemeManager.ThemeChangeListener {
         }
     }
 
+    // Invalidation hooks: drop cached views that show data which just changed.
+    // The view that made the change keeps itself up to date, so it isn't listed.
+    private void onDataChanged(DataChanges.Type type) {
+        switch (type) {
+            case TASKS:
+                // The calendar follows task changes itself through TaskRepository
+                viewCache.invalidate("dashboard", "stats", "pet");
+                break;
+            case NOTES:
+            case POMODORO:
+                viewCache.invalidate("dashboard", "stats", "pet");
+                break;
+            case MOOD:
+                viewCache.invalidate("dashboard", "stats");
+                break;
+            case PETS:
+                viewCache.invalidate("pet", "stats");
+                break;
+        }
+    }
+
+    // Put the cached view for a tab back on screen; false if it has to be built
+    private boolean showCached(String tab) {
+        Node cached = viewCache.get(tab);
+        if (cached == null) {
+            return false;
+        }
+        root.setCenter(cached);
+        return true;
+    }
+
     private void showDashboard() {
+        if (showCached("dashboard")) return;
+
         Dashboard dashboard = new Dashboard(userId, userName);
         dashboard.setSidebarController(sidebarController);
-        dashboard.setSidebarController(sidebarController);
-
-        // Apply current theme to dashboard
-        Theme currentTheme = themeManager.getCurrentTheme();
-        dashboard.getContent();
 
-        root.setCenter(dashboard.getContent());
+        // Content is built against the current theme; its data loads in the background
+        VBox dashboardContent = dashboard.getContent();
+        root.setCenter(dashboardContent);
+        viewCache.put("dashboard", dashboardContent, null);
     }
 
     private void showNotes() {
+        if (showCached("notes")) return;
+
         NotesController notesController = new NotesController(userId);
-        notesController.setSidebar(sidebar);
         NotesView notesView = new NotesView(notesController);
 
         // Apply theme to notes view if it supports it
         applyThemeToNode(notesView, themeManager.getCurrentTheme());
 
         root.setCenter(notesView);
+        viewCache.put("notes", notesView, null);
     }
 
     private void showMood() {
+        if (showCached("mood")) return;
+
         MoodController moodController = new MoodController(userId);
         MoodView moodView = new MoodView(moodController);
 
@@ -247,27 +300,43 @@ public class MainController implements ThemeManager.ThemeChangeListener {
         applyThemeToNode(moodView, themeManager.getCurrentTheme());
 
         root.setCenter(moodView);
+        viewCache.put("mood", moodView, () -> {
+            moodView.refreshTheme();
+            applyThemeToNode(moodView, themeManager.getCurrentTheme());
+        });
     }
 
     private void showPets() {
-        PetsController petsController = new PetsController(userId);
-        petsController.setPetChangeListener(() -> {
-            PetsController.PetInfo currentPet = petsController.getCurrentPetForSidebar();
-            sidebar.updateMascot(currentPet.getName(), currentPet.getSpecies(), currentPet.getGifFilename());
-        });
-        PetsView petsView = new PetsView(petsController);
+        if (showCached("pet")) return;
+
+        // The view is swapped into this holder once its controller is ready
+        BorderPane petsHolder = new BorderPane(Skeleton.page("Waking up your pets..."));
+        root.setCenter(petsHolder);
+        viewCache.put("pet", petsHolder, null);
+
+        // The controller checks the default pet in its constructor, so build it off the FX thread
+        BackgroundLoader.forView("pets controller", () -> new PetsController(userId), petsController -> {
+            petsController.setPetChangeListener(() -> refreshSidebarMascot(petsController));
+            PetsView petsView = new PetsView(petsController);
+
+            // Apply theme to pets view if it supports it
+            applyThemeToNode(petsView, themeManager.getCurrentTheme());
 
-        // Apply theme to pets view if it supports it
-        applyThemeToNode(petsView, themeManager.getCurrentTheme());
+            petsHolder.setCenter(petsView);
 
-        root.setCenter(petsView);
+            refreshSidebarMascot(petsController);
+        });
+    }
 
-        PetsController.PetInfo currentPet = petsController.getCurrentPetForSidebar();
-        sidebar.updateMascot(currentPet.getName(), currentPet.getSpecies(), currentPet.getGifFilename());
+    private void refreshSidebarMascot(PetsController petsController) {
+        BackgroundLoader.load("sidebar mascot", petsController::getCurrentPetForSidebar,
+                pet -> sidebar.updateMascot(pet.getName(), pet.getSpecies(), pet.getGifFilename()));
     }
 
     // In MainController.java - update the showTodoList method
     private void showTodoList() {
+        if (showCached("todos")) return;
+
         TodoView todoView = new TodoView(userId, sidebar);
 
         // ✅ ADD THIS: Initialize the TodoView as a component
@@ -286,13 +355,13 @@ public class MainController implements ThemeManager.ThemeChangeListener {
         todoContent.prefHeightProperty().bind(root.heightProperty());
 
         root.setCenter(todoContent);
+        viewCache.put("todos", todoContent, null);
     }
 
     private void showCalendar() {
-        CalendarView calendarView = new CalendarView(userId);
+        if (showCached("calendar")) return;
 
-        // Apply theme to calendar view
-        applyThemeToNode(calendarView.getContent(), themeManager.getCurrentTheme());
+        CalendarView calendarView = new CalendarView(userId);
 
         // Set the initial width for responsive calculations
         calendarView.setWidth(root.getWidth() - 200); // Account for sidebar
@@ -302,24 +371,7 @@ public class MainController implements ThemeManager.ThemeChangeListener {
             calendarView.setWidth(newVal.doubleValue() - 200); // Account for sidebar
         });
 
-        // Set up callback - when calendar content changes, refresh the center
-        calendarView.setOnContentChange(() -> {
-            // This will be called when dates are clicked or month changes
-            ScrollPane refreshedContent = calendarView.getContent();
-
-            // Apply theme to refreshed content
-            applyThemeToNode(refreshedContent, themeManager.getCurrentTheme());
-
-            // Make refreshed content fill available space
-            refreshedContent.prefWidthProperty().bind(root.widthProperty().subtract(200));
-            refreshedContent.prefHeightProperty().bind(root.heightProperty());
-
-            root.setCenter(refreshedContent);
-
-            // Update the width for the refreshed content
-            calendarView.setWidth(root.getWidth() - 200);
-        });
-
+        // Built once; date clicks, month changes and task changes update it in place
         ScrollPane calendarContent = calendarView.getContent();
 
         // Apply theme to calendar content
@@ -330,9 +382,12 @@ public class MainController implements ThemeManager.ThemeChangeListener {
         calendarContent.prefHeightProperty().bind(root.heightProperty());
 
         root.setCenter(calendarContent);
+        viewCache.put("calendar", calendarContent, null);
     }
 
     private void showSettings() {
+        if (showCached("settings")) return;
+
         Settings settings = new Settings(userId);
         VBox settingsContent = settings.getContent();
         settings.setSidebar(sidebar); //pass sidebar reference to refresh user upon update
@@ -349,13 +404,14 @@ public class MainController implements ThemeManager.ThemeChangeListener {
         scrollPane.prefHeightProperty().bind(root.heightProperty());
 
         root.setCenter(scrollPane);
+        viewCache.put("settings", scrollPane, null);
     }
 
     private void showWhiteNoisePlayer() {
         // Use the singleton instance instead of creating a new one
         WhiteNoiseView whiteNoisePlayer = WhiteNoiseView.getInstance();
-        Node whiteNoiseContent = whiteNoisePlayer.getContent();
         whiteNoisePlayer.setUserId(userId);
+        Node whiteNoiseContent = whiteNoisePlayer.getContent();
 
         // Apply current theme
         Theme currentTheme = themeManager.getCurrentTheme();
@@ -396,7 +452,6 @@ public class MainController implements ThemeManager.ThemeChangeListener {
 
                 // Set up the controller with dependencies
                 pomodoroController.setUserId(userId);
-                pomodoroController.setSidebar(sidebar);
 
                 // Create pets controller and set it on the pomodoro controller
                 PetsController petsController = new PetsController(userId);
@@ -444,8 +499,12 @@ public class MainController implements ThemeManager.ThemeChangeListener {
         if (themeManager != null) {
             themeManager.removeThemeChangeListener(this);
         }
+        DataChanges.removeListener(dataChangeListener);
+        viewCache.invalidateAll();
     }
     private void showAnalytics() {
+        if (showCached("stats")) return;
+
         try {
             AnalyticsView analyticsView = new AnalyticsView(userId, userName);
             Node analyticsContent = analyticsView.create();
@@ -464,6 +523,11 @@ public class MainController implements ThemeManager.ThemeChangeListener {
             scrollPane.prefHeightProperty().bind(root.heightProperty());
 
             root.setCenter(scrollPane);
+            viewCache.put("stats", scrollPane, () -> {
+                analyticsView.refreshTheme();
+                Theme theme = themeManager.getCurrentTheme();
+                scrollPane.setStyle("-fx-background: " + theme.getBackgroundColor() + "; -fx-border-color: " + theme.getBackgroundColor() + ";");
+            });
 
         } catch (Exception e) {
             System.out.println("❌ Error loading Analytics: " + e.getMessage());
@@ -1,5 +1,7 @@
 package com.example.Evora.Mood;
 
+import com.example.Evora.Analytics.DailyActivityService;
+import com.example.Evora.DataChanges;
 import com.example.Evora.Database.DatabaseConnection;
 import java.sql.*;
 import java.time.LocalDate;
@@ -51,7 +53,12 @@ public class MoodController {
             stmt.setString(9, moodIcon);
             stmt.setDate(10, Date.valueOf(today));
 
-            return stmt.executeUpdate() > 0;
+            boolean saved = stmt.executeUpdate() > 0;
+            if (saved) {
+                DailyActivityService.recordMood(conn, currentUserId, Date.valueOf(today), moodValue);
+                DataChanges.publish(DataChanges.Type.MOOD);
+            }
+            return saved;
         } catch (SQLException e) {
             System.err.println("Error logging mood: " + e.getMessage());
             e.printStackTrace();
@@ -111,9 +118,23 @@ public class MoodController {
         return null;
     }
 
+    // Today's entry from an already loaded history
+    public MoodEntry getTodaysMood(List<MoodEntry> entries) {
+        LocalDate today = LocalDate.now();
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (entries.get(i).getDate().equals(today)) {
+                return entries.get(i);
+            }
+        }
+        return null;
+    }
+
     // Calculate average mood
     public double getAverageMood() {
-        List<MoodEntry> entries = getMoodHistory();
+        return getAverageMood(getMoodHistory());
+    }
+
+    public double getAverageMood(List<MoodEntry> entries) {
         if (entries.isEmpty()) return 0;
 
         double sum = entries.stream().mapToInt(MoodEntry::getMoodValue).sum();
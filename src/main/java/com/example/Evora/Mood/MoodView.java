@@ -1,5 +1,7 @@
 package com.example.Evora.Mood;
 
+import com.example.Evora.Loading.BackgroundLoader;
+import com.example.Evora.Loading.Skeleton;
 import com.example.Evora.Theme.ThemeManager;
 import com.example.Evora.Theme.Theme;
 import javafx.geometry.Insets;
@@ -29,6 +31,8 @@ public class MoodView extends BorderPane {
     private Tooltip chartTooltip;
     private Theme currentTheme;
     private Map<String, String> colors;
+    private List<MoodController.MoodEntry> moodHistory = List.of(); // last loaded history, oldest first
+    private boolean loaded = false;
 
     // FIXED COLORS FOR ALL CHART TEXT - ALWAYS BLACK FOR VISIBILITY
     private final Color CHART_TEXT_COLOR = Color.BLACK;
@@ -42,7 +46,6 @@ public class MoodView extends BorderPane {
         initializeColors();
         setupChartTooltip();
         createView();
-        refreshAllData();
     }
 
     private void initializeColors() {
@@ -96,7 +99,9 @@ public class MoodView extends BorderPane {
         if (mainContent != null) {
             mainContent.setStyle("-fx-background-color: " + colors.get("bg_primary") + ";");
             this.setStyle("-fx-background-color: " + colors.get("bg_primary") + ";");
-            refreshAllData();
+            if (loaded) {
+                renderAllData(); // only the colors changed
+            }
         }
     }
 
@@ -164,7 +169,21 @@ public class MoodView extends BorderPane {
         return headerBox;
     }
 
+    // Reads the mood history off the FX thread, then redraws every card from it
     private void refreshAllData() {
+        if (!loaded) {
+            moodSelectionCard.getChildren().setAll(Skeleton.block(700, 260));
+            statsCards.getChildren().setAll(Skeleton.block(300, 170), Skeleton.block(300, 170));
+            recentEntriesCard.getChildren().setAll(Skeleton.block(800, 220));
+        }
+        BackgroundLoader.forView("mood history", controller::getMoodHistory, history -> {
+            moodHistory = history;
+            loaded = true;
+            renderAllData();
+        });
+    }
+
+    private void renderAllData() {
         refreshMoodSelectionCard();
         refreshStatisticsCards();
         refreshRecentEntriesCard();
@@ -186,7 +205,7 @@ public class MoodView extends BorderPane {
         card.setAlignment(Pos.TOP_CENTER);
 
         // Card header with better instructions
-        MoodController.MoodEntry todaysMood = controller.getTodaysMood();
+        MoodController.MoodEntry todaysMood = controller.getTodaysMood(moodHistory);
         Label cardTitle = new Label(todaysMood != null ? "Update Today's Mood" : "Log Your Mood");
         cardTitle.setFont(Font.font("System", FontWeight.BOLD, 24));
         cardTitle.setStyle(forceTextColor(Color.web(colors.get("text_primary"))));
@@ -337,7 +356,7 @@ public class MoodView extends BorderPane {
                         "-fx-font-size: 14;"
         );
 
-        Button logButton = new Button(controller.getTodaysMood() != null ? "Update Mood" : "Log Mood");
+        Button logButton = new Button(controller.getTodaysMood(moodHistory) != null ? "Update Mood" : "Log Mood");
         logButton.setStyle(
                 "-fx-background-color: linear-gradient(to right, " + colors.get("accent_purple") + ", " + colors.get("accent_pink") + ");" +
                         "-fx-text-fill: white;" +
@@ -360,9 +379,9 @@ public class MoodView extends BorderPane {
         statsCards.getChildren().clear();
 
         // Average Mood Card
-        double averageMood = controller.getAverageMood();
+        double averageMood = controller.getAverageMood(moodHistory);
         String averageEmoji;
-        if (controller.getMoodHistory().isEmpty()) {
+        if (moodHistory.isEmpty()) {
             averageEmoji = "😐";
         } else {
             int averageMoodIndex = Math.max(0, Math.min((int) Math.round(averageMood) - 1, controller.getMoodEmojis().length - 1));
@@ -377,7 +396,7 @@ public class MoodView extends BorderPane {
         );
 
         // Entries Logged Card
-        List<MoodController.MoodEntry> entries = controller.getMoodHistory();
+        List<MoodController.MoodEntry> entries = moodHistory;
         VBox entriesCard = createStatCard(
                 "Entries Logged",
                 "📊",
@@ -457,7 +476,7 @@ public class MoodView extends BorderPane {
     }
 
     private void handleChartHover(MouseEvent event) {
-        List<MoodController.MoodEntry> entries = controller.getMoodHistory();
+        List<MoodController.MoodEntry> entries = moodHistory;
         if (entries.isEmpty()) return;
 
         double padding = 60;
@@ -510,7 +529,7 @@ public class MoodView extends BorderPane {
         GraphicsContext gc = chartCanvas.getGraphicsContext2D();
         gc.clearRect(0, 0, chartCanvas.getWidth(), chartCanvas.getHeight());
 
-        List<MoodController.MoodEntry> entries = controller.getMoodHistory();
+        List<MoodController.MoodEntry> entries = moodHistory;
         if (entries.isEmpty()) {
             drawPlaceholderChart(gc);
             return;
@@ -677,7 +696,7 @@ public class MoodView extends BorderPane {
         cardTitle.setStyle(forceTextColor(Color.web(colors.get("text_primary"))));
 
         VBox entriesContainer = new VBox(15);
-        List<MoodController.MoodEntry> recentEntries = controller.getMoodHistory();
+        List<MoodController.MoodEntry> recentEntries = moodHistory;
         int displayCount = Math.min(5, recentEntries.size());
 
         for (int i = recentEntries.size() - 1; i >= recentEntries.size() - displayCount; i--) {
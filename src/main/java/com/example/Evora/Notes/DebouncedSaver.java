@@ -0,0 +1,108 @@
+package com.example.Evora.Notes;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The debounce and dirty tracking behind {@link NoteAutosave}, without any JavaFX in it so it
+ * can be driven by a fake timer in tests. Every change restarts one quiet-period timer, so a
+ * burst of edits ends in one write of the last value. Writes are skipped when the value equals
+ * the last saved one and never overlap: a change made while a write is in flight is written
+ * once that write reports back. Not thread-safe; call everything from one thread.
+ */
+public class DebouncedSaver<T> {
+
+    public enum Status { EDITING, CLEAN, SAVING, SAVED, NOT_SAVED }
+
+    // The quiet-period timer; calls the task given to the factory when it runs out
+    public interface Timer {
+        void restart();
+        void stop();
+        boolean isRunning();
+    }
+
+    // Writes a value somewhere and reports back (true = saved) on the caller's thread
+    public interface Writer<T> {
+        void write(T value, Consumer<Boolean> done);
+    }
+
+    private final Timer timer;
+    private final Writer<T> writer;
+    private final Consumer<Status> onStatus;
+
+    private T value;
+    private T savedValue;
+    private boolean saving = false;
+    private boolean cancelled = false;
+
+    public DebouncedSaver(T saved, Function<Runnable, Timer> timerFactory, Writer<T> writer, Consumer<Status> onStatus) {
+        this.value = saved;
+        this.savedValue = saved;
+        this.timer = timerFactory.apply(this::save);
+        this.writer = writer;
+        this.onStatus = onStatus;
+    }
+
+    public void changed(T newValue) {
+        value = newValue;
+        if (isDirty()) {
+            onStatus.accept(Status.EDITING);
+            timer.restart();
+        } else {
+            timer.stop(); // changed back to what is already saved
+            onStatus.accept(Status.CLEAN);
+        }
+    }
+
+    // Save without waiting for the quiet period
+    public void saveNow() {
+        timer.stop();
+        save();
+    }
+
+    // Drop whatever is still waiting; nothing is written or reported after this
+    public void cancel() {
+        cancelled = true;
+        timer.stop();
+    }
+
+    public boolean isDirty() {
+        return !Objects.equals(value, savedValue);
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    private void save() {
+        if (cancelled || saving || !isDirty()) {
+            return; // a write in flight re-checks when it returns
+        }
+        saving = true;
+        T toSave = value;
+        onStatus.accept(Status.SAVING);
+        writer.write(toSave, saved -> {
+            saving = false;
+            if (saved) {
+                savedValue = toSave;
+            }
+            afterSave(saved);
+        });
+    }
+
+    private void afterSave(boolean saved) {
+        if (cancelled) {
+            return;
+        }
+        if (!saved) {
+            onStatus.accept(Status.NOT_SAVED);
+            return; // stays dirty, the next change tries again
+        }
+        if (!isDirty()) {
+            onStatus.accept(Status.SAVED);
+        } else if (!timer.isRunning()) {
+            save(); // changed while saving and nothing else will pick it up
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.Evora.Notes;
+
+import com.example.Evora.Loading.BackgroundLoader;
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
+import javafx.scene.control.Label;
+import javafx.scene.text.Font;
+import javafx.util.Duration;
+
+import java.util.function.Consumer;
+
+/**
+ * Autosave for one sticky note. Edits restart a single debounce timer, so a burst of typing
+ * ends in one write of the final text. Writes are skipped when nothing changed since the last
+ * save, run off the FX thread, and never overlap: a change made while a save is in flight is
+ * written once that save returns. The rules live in {@link DebouncedSaver}; this wires them
+ * to a PauseTransition, the database and the status label. Everything here runs on the FX thread.
+ */
+public class NoteAutosave {
+
+    // How long the note has to be left alone before it is saved
+    private static final Duration QUIET_PERIOD = Duration.seconds(3);
+
+    private final NotesController controller;
+    private final int noteId;
+    private final DebouncedSaver<NoteState> saver;
+
+    private final PauseTransition hideStatus = new PauseTransition(Duration.seconds(2));
+    private final Label statusLabel = new Label();
+
+    public NoteAutosave(NotesController controller, int noteId, String content, int colorId) {
+        this.controller = controller;
+        this.noteId = noteId;
+
+        statusLabel.setFont(Font.font("Arial", 10));
+        statusLabel.setStyle("-fx-text-fill: rgba(55,65,81,0.6);");
+        statusLabel.setMouseTransparent(true);
+        hideStatus.setOnFinished(e -> statusLabel.setText(""));
+
+        saver = new DebouncedSaver<>(new NoteState(content, colorId), NoteAutosave::pauseTimer,
+                this::write, this::showStatus);
+    }
+
+    // Small "Saving… / Saved" text to place on the note
+    public Label getStatusLabel() {
+        return statusLabel;
+    }
+
+    public void contentChanged(String newContent) {
+        saver.changed(new NoteState(newContent, saver.getValue().colorId()));
+    }
+
+    // Colour picks are deliberate, save them straight away
+    public void colorChanged(int newColorId) {
+        saver.changed(new NoteState(saver.getValue().content(), newColorId));
+        saver.saveNow();
+    }
+
+    public void saveNow() {
+        saver.saveNow();
+    }
+
+    // The note was deleted; drop whatever is still waiting
+    public void cancel() {
+        saver.cancel();
+        hideStatus.stop();
+    }
+
+    public boolean isDirty() {
+        return saver.isDirty();
+    }
+
+    private void write(NoteState state, Consumer<Boolean> done) {
+        BackgroundLoader.load("note " + noteId,
+                () -> controller.updateNote(noteId, state.content(), state.colorId()),
+                done,
+                error -> {
+                    System.err.println("Error saving note " + noteId + ": " + error.getMessage());
+                    done.accept(false);
+                });
+    }
+
+    private void showStatus(DebouncedSaver.Status status) {
+        hideStatus.stop();
+        switch (status) {
+            case EDITING -> statusLabel.setText("Editing…");
+            case SAVING -> statusLabel.setText("Saving…");
+            case NOT_SAVED -> statusLabel.setText("Not saved");
+            case CLEAN -> statusLabel.setText("");
+            case SAVED -> {
+                statusLabel.setText("Saved ✓");
+                hideStatus.playFromStart();
+            }
+        }
+    }
+
+    private static DebouncedSaver.Timer pauseTimer(Runnable onElapsed) {
+        PauseTransition pause = new PauseTransition(QUIET_PERIOD);
+        pause.setOnFinished(e -> onElapsed.run());
+        return new DebouncedSaver.Timer() {
+            public void restart() { pause.playFromStart(); }
+            public void stop() { pause.stop(); }
+            public boolean isRunning() { return pause.getStatus() == Animation.Status.RUNNING; }
+        };
+    }
+
+    private record NoteState(String content, int colorId) {
+    }
+}
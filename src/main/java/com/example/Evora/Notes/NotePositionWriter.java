@@ -0,0 +1,136 @@
+package com.example.Evora.Notes;
+
+import com.example.Evora.Database.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for sticky note positions. A drag produces a position per mouse event;
+ * only the last one per note is kept, and it is written when the drag ends or after a quiet
+ * period, together with any other notes moved since the last write, as one JDBC batch.
+ */
+public class NotePositionWriter {
+
+    // How long a note has to sit still before its position is written anyway
+    private static final long QUIET_PERIOD_MILLIS = 1500;
+
+    private static final String UPDATE_SQL =
+            "UPDATE StickyNotes SET position_x = ?, position_y = ? WHERE note_id = ? AND user_id = ?";
+
+    private static final ScheduledThreadPoolExecutor WRITER = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread thread = new Thread(r, "evora-note-positions");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        // Every drag event cancels the quiet flush; drop those from the queue instead of keeping them for 1.5 s
+        WRITER.setRemoveOnCancelPolicy(true);
+    }
+
+    // Latest unwritten position per note_id (guarded by the class lock)
+    private static final Map<Integer, PendingPosition> pending = new LinkedHashMap<>();
+    private static ScheduledFuture<?> quietFlush;
+
+    // Held while a batch is being written so two flushes can't land out of order
+    private static final Object writeLock = new Object();
+
+    // Remember a note's new position; cheap enough to call on every drag event
+    public static synchronized void queue(int userId, int noteId, double positionX, double positionY) {
+        pending.put(noteId, new PendingPosition(userId, noteId, positionX, positionY));
+        if (quietFlush != null) {
+            quietFlush.cancel(false);
+        }
+        quietFlush = WRITER.schedule(NotePositionWriter::flush, QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    // Drop a note's pending position (it was deleted)
+    public static synchronized void discard(int noteId) {
+        pending.remove(noteId);
+    }
+
+    // Write what is pending on the writer thread (drag released)
+    public static void flushAsync() {
+        WRITER.execute(NotePositionWriter::flush);
+    }
+
+    // Write what is pending on the calling thread; used before reading notes and on exit
+    public static void flush() {
+        synchronized (writeLock) {
+            List<PendingPosition> batch = takePending();
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                writeBatch(conn, batch);
+                System.out.println("📌 Saved " + batch.size() + " note position(s)");
+            } catch (SQLException e) {
+                System.err.println("Error saving note positions: " + e.getMessage());
+                e.printStackTrace();
+                requeue(batch);
+            }
+        }
+    }
+
+    private static synchronized List<PendingPosition> takePending() {
+        if (quietFlush != null) {
+            quietFlush.cancel(false);
+            quietFlush = null;
+        }
+        List<PendingPosition> batch = new ArrayList<>(pending.values());
+        pending.clear();
+        return batch;
+    }
+
+    // Put back positions that failed, unless the note has moved again in the meantime
+    private static synchronized void requeue(List<PendingPosition> batch) {
+        for (PendingPosition position : batch) {
+            pending.putIfAbsent(position.noteId, position);
+        }
+    }
+
+    private static void writeBatch(Connection conn, List<PendingPosition> batch) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
+            for (PendingPosition position : batch) {
+                stmt.setDouble(1, position.positionX);
+                stmt.setDouble(2, position.positionY);
+                stmt.setInt(3, position.noteId);
+                stmt.setInt(4, position.userId);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static class PendingPosition {
+        final int userId;
+        final int noteId;
+        final double positionX;
+        final double positionY;
+
+        PendingPosition(int userId, int noteId, double positionX, double positionY) {
+            this.userId = userId;
+            this.noteId = noteId;
+            this.positionX = positionX;
+            this.positionY = positionY;
+        }
+    }
+}
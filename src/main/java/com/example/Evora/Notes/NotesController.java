@@ -1,22 +1,20 @@
 package com.example.Evora.Notes;
 
+import com.example.Evora.Analytics.DailyActivityService;
+import com.example.Evora.DataChanges;
 import com.example.Evora.Database.DatabaseConnection;
-import com.example.Evora.Sidebar.Sidebar;
+import com.example.Evora.Pets.ExperienceService;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class NotesController {
     private int currentUserId;
-    private Sidebar sidebar;
 
     public NotesController(int userId) {
         this.currentUserId = userId;
         System.out.println("Notes module loaded for user: " + userId);
     }
-    public void setSidebar(Sidebar sidebar) {
-        this.sidebar = sidebar;
-    }
 
     // Create - Add new note
     public int addNote(String content, int colorId, double positionX, double positionY) {
@@ -37,11 +35,11 @@ public class NotesController {
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
                         int noteId = generatedKeys.getInt(1);
+                        DailyActivityService.increment(conn, currentUserId, DailyActivityService.Counter.NOTES_CREATED);
+                        DataChanges.publish(DataChanges.Type.NOTES);
 
                         // Increment user experience by 50
-                        incrementUserExperience(50);
-                        if (sidebar != null)
-                            sidebar.refreshExperienceFromDatabase(currentUserId);
+                        ExperienceService.award(50);
 
                         return noteId; // Return the new note_id
                     }
@@ -54,29 +52,10 @@ public class NotesController {
         return -1; // Error
     }
 
-    // Method to increment user experience
-    private void incrementUserExperience(int experienceToAdd) {
-        String sql = "UPDATE Users SET experience = experience + ? WHERE user_id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, experienceToAdd);
-            stmt.setInt(2, currentUserId);
-
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows > 0) {
-                System.out.println("Added " + experienceToAdd + " experience to user " + currentUserId);
-            }
-        } catch (SQLException e) {
-            System.err.println("Error updating user experience: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-
     // Read - Get all notes for current user
     public List<Note> getNotes() {
         List<Note> notes = new ArrayList<>();
+        NotePositionWriter.flush(); // so notes come back where they were last dropped
         String sql = "SELECT note_id, content, color_id, position_x, position_y, created_at " +
                 "FROM StickyNotes WHERE user_id = ? ORDER BY created_at DESC";
 
@@ -105,20 +84,18 @@ public class NotesController {
         return notes;
     }
 
-    // Update - Update note content, color, and position
-    public boolean updateNote(int noteId, String content, int colorId, double positionX, double positionY) {
-        String sql = "UPDATE StickyNotes SET content = ?, color_id = ?, position_x = ?, position_y = ? " +
-                "WHERE note_id = ? AND user_id = ?";
+    // Update - Update note content and color. Positions are only written by NotePositionWriter,
+    // so a save that was read before a drag can't put the note back where it was.
+    public boolean updateNote(int noteId, String content, int colorId) {
+        String sql = "UPDATE StickyNotes SET content = ?, color_id = ? WHERE note_id = ? AND user_id = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, content);
             stmt.setInt(2, colorId);
-            stmt.setDouble(3, positionX);
-            stmt.setDouble(4, positionY);
-            stmt.setInt(5, noteId);
-            stmt.setInt(6, currentUserId);
+            stmt.setInt(3, noteId);
+            stmt.setInt(4, currentUserId);
 
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -128,28 +105,19 @@ public class NotesController {
         return false;
     }
 
-    // Update just position (for dragging)
-    public boolean updateNotePosition(int noteId, double positionX, double positionY) {
-        String sql = "UPDATE StickyNotes SET position_x = ?, position_y = ? WHERE note_id = ? AND user_id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setDouble(1, positionX);
-            stmt.setDouble(2, positionY);
-            stmt.setInt(3, noteId);
-            stmt.setInt(4, currentUserId);
+    // Update just position (for dragging). Queued and written in batches by NotePositionWriter
+    public void updateNotePosition(int noteId, double positionX, double positionY) {
+        NotePositionWriter.queue(currentUserId, noteId, positionX, positionY);
+    }
 
-            return stmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            System.err.println("Error updating note position: " + e.getMessage());
-            e.printStackTrace();
-        }
-        return false;
+    // Drag finished: write the queued positions now instead of after the quiet period
+    public void saveNotePositions() {
+        NotePositionWriter.flushAsync();
     }
 
     // Delete - Remove note and move it to deleted archive
     public boolean deleteNote(int noteId) {
+        NotePositionWriter.discard(noteId);
         String sql = "DELETE FROM StickyNotes WHERE note_id = ? AND user_id = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -158,7 +126,11 @@ public class NotesController {
             stmt.setInt(1, noteId);
             stmt.setInt(2, currentUserId);
 
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            if (deleted) {
+                DataChanges.publish(DataChanges.Type.NOTES);
+            }
+            return deleted;
         } catch (SQLException e) {
             System.err.println("Error deleting note: " + e.getMessage());
             e.printStackTrace();
@@ -1,5 +1,7 @@
 package com.example.Evora.Notes;
 
+import com.example.Evora.Loading.BackgroundLoader;
+import com.example.Evora.Loading.Skeleton;
 import com.example.Evora.Theme.ThemeManager;
 import com.example.Evora.Theme.Theme;
 import javafx.geometry.Insets;
@@ -56,7 +58,23 @@ public class NotesView extends BorderPane {
 
     private void loadExistingNotes()
     {
-        List<NotesController.Note> dbNotes = controller.getNotes();
+        // Note shaped placeholders while the notes are fetched off the FX thread
+        List<Region> placeholders = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Region placeholder = Skeleton.block(180, 180);
+            placeholder.setLayoutX(50 + i * 190);
+            placeholder.setLayoutY(60);
+            placeholders.add(placeholder);
+        }
+        boardPane.getChildren().addAll(placeholders);
+
+        BackgroundLoader.forView("notes", controller::getNotes, dbNotes -> {
+            boardPane.getChildren().removeAll(placeholders);
+            showNotes(dbNotes);
+        });
+    }
+
+    private void showNotes(List<NotesController.Note> dbNotes) {
         for (NotesController.Note dbNote : dbNotes) {
             // Convert color_id (1-6) to colorIndex (0-5)
             int colorIndex = dbNote.getColorId() - 1;
@@ -386,10 +404,12 @@ public class NotesView extends BorderPane {
     /** Inner class for draggable sticky notes */
     private class StickyNote extends StackPane {
         private double mouseX, mouseY;
+        private boolean dragged = false; // moved since the mouse was pressed
         private final TextArea textArea;
         private int colorIndex;
         private int noteId;
         private final NotesController controller;
+        private final NoteAutosave autosave;
 
         private static final String[] COLORS = new String[6];
         static {
@@ -430,16 +450,9 @@ public class NotesView extends BorderPane {
             textArea.setPadding(new Insets(15, 10, 10, 10));
             textArea.setFocusTraversable(false);
             // Save text changes to database when user stops typing
-            textArea.textProperty().addListener((observable, oldValue, newValue) -> {
-                // Use a timer to avoid saving on every keystroke
-                javafx.animation.PauseTransition pause = new javafx.animation.PauseTransition(
-                        javafx.util.Duration.seconds(3) //save after every 3 s to avoid many updates
-                );
-                pause.setOnFinished(event -> {
-                    controller.updateNote(noteId, newValue, colorIndex + 1, getLayoutX(), getLayoutY());
-                });
-                pause.playFromStart();
-            });
+            autosave = new NoteAutosave(controller, noteId, content, colorIndex + 1);
+            textArea.textProperty().addListener((observable, oldValue, newValue) ->
+                    autosave.contentChanged(newValue));
 
 
             // Delete button
@@ -460,6 +473,7 @@ public class NotesView extends BorderPane {
                     parent.getChildren().remove(this);
                     notes.remove(this);
                 }
+                autosave.cancel();
                 controller.deleteNote(noteId);
             });
 
@@ -491,8 +505,7 @@ public class NotesView extends BorderPane {
 
                     // Save color change to database
                     int newColorId = index + 1; // Convert to database color_id
-                    controller.updateNote(noteId, textArea.getText(), newColorId,
-                            getLayoutX(), getLayoutY());
+                    autosave.colorChanged(newColorId);
                 });
                 colorPicker.getChildren().add(colorBtn);
             }
@@ -505,7 +518,11 @@ public class NotesView extends BorderPane {
             noteLayout.setSpacing(2);
             noteLayout.getChildren().addAll(colorPicker, textArea);
 
-            this.getChildren().addAll(noteLayout, deleteBtn);
+            Label saveStatus = autosave.getStatusLabel();
+            StackPane.setAlignment(saveStatus, Pos.BOTTOM_RIGHT);
+            StackPane.setMargin(saveStatus, new Insets(0, 12, 6, 0));
+
+            this.getChildren().addAll(noteLayout, deleteBtn, saveStatus);
 
             // Hover effects
             this.setOnMouseEntered(e -> {
@@ -530,6 +547,7 @@ public class NotesView extends BorderPane {
             // Enable dragging with boundary constraints
             setOnMousePressed(this::handleMousePressed);
             setOnMouseDragged(this::handleMouseDragged);
+            setOnMouseReleased(this::handleMouseReleased);
             setOnMouseClicked(e -> this.toFront());
 
             textArea.setOnMouseClicked(e -> {
@@ -563,6 +581,14 @@ public class NotesView extends BorderPane {
                 setLayoutY(newY);
 
                 controller.updateNotePosition(noteId, newX, newY);
+                dragged = true;
+            }
+        }
+
+        private void handleMouseReleased(MouseEvent event) {
+            if (dragged) {
+                dragged = false;
+                controller.saveNotePositions();
             }
         }
     }
@@ -0,0 +1,260 @@
+package com.example.Evora.Pets;
+
+import com.example.Evora.DataChanges;
+import com.example.Evora.Database.DatabaseConnection;
+import com.example.Evora.Sound.SoundEffects;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The logged-in user's experience. After login the value lives here: awards update it at once
+ * (and through {@link #experienceProperty()} the sidebar), while the deltas are summed and
+ * written to Users in one UPDATE a couple of seconds later. Pet unlocks are only checked when
+ * an award crosses a pet's required_experience.
+ */
+public class ExperienceService {
+
+    // Awards arriving within this window go to the database as one UPDATE
+    private static final long BATCH_WINDOW_MILLIS = 2000;
+
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "evora-experience");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Only touched on the FX thread
+    private static final ReadOnlyIntegerWrapper experience = new ReadOnlyIntegerWrapper(0);
+
+    // Guarded by the class lock
+    private static int userId = -1;
+    private static boolean loaded = false;
+    private static int storedExperience = 0;   // Users.experience when it was loaded
+    private static int awardedSinceLogin = 0;  // everything awarded since, written or not
+    private static int unwrittenDelta = 0;     // the part of it not in the database yet
+    private static boolean unlockCheckDue = false;
+    private static int[] petThresholds = new int[0];
+    private static ScheduledFuture<?> scheduledFlush;
+
+    // Held while a delta is written so flushes from different threads don't overlap
+    private static final Object writeLock = new Object();
+
+    // Called once per login; reads the stored value in the background
+    public static void start(int newUserId) {
+        int previousUser;
+        int previousDelta;
+        boolean previousUnlocks;
+        synchronized (ExperienceService.class) {
+            // Anything still owed to a previous user is written in the background, in order
+            previousUser = userId;
+            previousDelta = unwrittenDelta;
+            previousUnlocks = unlockCheckDue;
+
+            userId = newUserId;
+            loaded = false;
+            storedExperience = 0;
+            awardedSinceLogin = 0;
+            unwrittenDelta = 0;
+            unlockCheckDue = false;
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+        }
+        experience.set(0);
+        if (previousUser >= 0 && (previousDelta != 0 || previousUnlocks)) {
+            WRITER.execute(() -> {
+                synchronized (writeLock) {
+                    write(previousUser, previousDelta, previousUnlocks);
+                }
+            });
+        }
+        WRITER.execute(ExperienceService::ensureLoaded);
+    }
+
+    public static ReadOnlyIntegerProperty experienceProperty() {
+        return experience.getReadOnlyProperty();
+    }
+
+    // Current experience, loading it first if needed; safe off the FX thread
+    public static int getExperience() {
+        ensureLoaded();
+        return currentValue();
+    }
+
+    // Give the user experience; the sidebar updates now, the database shortly after
+    public static void award(int amount) {
+        boolean crossed;
+        synchronized (ExperienceService.class) {
+            if (userId < 0 || amount == 0) {
+                return;
+            }
+            int before = storedExperience + awardedSinceLogin;
+            awardedSinceLogin += amount;
+            unwrittenDelta += amount;
+
+            // Before the load finishes the thresholds aren't known, so check to be safe
+            crossed = !loaded || crossesThreshold(before, before + amount);
+            if (crossed) {
+                unlockCheckDue = true;
+            }
+            if (crossed || scheduledFlush == null) {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                }
+                long delay = crossed ? 0 : BATCH_WINDOW_MILLIS; // unlock without waiting for the batch
+                scheduledFlush = WRITER.schedule(ExperienceService::flush, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+        System.out.println("Added " + amount + " experience");
+        publish();
+    }
+
+    // Write the unwritten delta in the background (logout), without holding up the FX thread
+    public static void flushAsync() {
+        WRITER.execute(ExperienceService::flush);
+    }
+
+    // Write the unwritten delta on the calling thread (exit, before pets are read)
+    public static void flush() {
+        synchronized (writeLock) {
+            ensureLoaded(); // the load must read Users before any delta is added to it
+            int delta;
+            int user;
+            boolean checkUnlocks;
+            synchronized (ExperienceService.class) {
+                if (!loaded) {
+                    return; // keep the delta until the stored value is known
+                }
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+                delta = unwrittenDelta;
+                user = userId;
+                checkUnlocks = unlockCheckDue;
+                unwrittenDelta = 0;
+                unlockCheckDue = false;
+            }
+            write(user, delta, checkUnlocks);
+        }
+    }
+
+    // Add delta to the user's stored experience and unlock pets if asked; hold writeLock
+    private static void write(int user, int delta, boolean checkUnlocks) {
+        if (user < 0 || (delta == 0 && !checkUnlocks)) {
+            return;
+        }
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (delta != 0) {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "UPDATE Users SET experience = experience + ? WHERE user_id = ?")) {
+                    stmt.setInt(1, delta);
+                    stmt.setInt(2, user);
+                    stmt.executeUpdate();
+                }
+            }
+            if (checkUnlocks && PetsController.unlockPets(conn, user) > 0) {
+                SoundEffects.play(SoundEffects.Effect.CHIME); // a new pet/badge was earned
+                DataChanges.publish(DataChanges.Type.PETS);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error saving user experience: " + e.getMessage());
+            e.printStackTrace();
+            synchronized (ExperienceService.class) {
+                if (userId == user) {
+                    unwrittenDelta += delta; // retried with the next flush
+                    unlockCheckDue |= checkUnlocks;
+                }
+            }
+        }
+    }
+
+    // Nothing is shown until the stored value is known
+    private static synchronized int currentValue() {
+        return loaded ? storedExperience + awardedSinceLogin : 0;
+    }
+
+    private static void ensureLoaded() {
+        int user;
+        synchronized (ExperienceService.class) {
+            if (loaded || userId < 0) {
+                return;
+            }
+            user = userId;
+        }
+
+        int stored = 0;
+        List<Integer> thresholds = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT experience FROM Users WHERE user_id = ?")) {
+                stmt.setInt(1, user);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        stored = rs.getInt("experience");
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT DISTINCT required_experience FROM PetTypes ORDER BY required_experience");
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    thresholds.add(rs.getInt("required_experience"));
+                }
+            }
+            // Catch up on unlocks earned before this was tracked
+            if (PetsController.unlockPets(conn, user) > 0) {
+                DataChanges.publish(DataChanges.Type.PETS);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading user experience: " + e.getMessage());
+            e.printStackTrace();
+            return; // tried again by the next read or flush
+        }
+
+        synchronized (ExperienceService.class) {
+            if (loaded || userId != user) {
+                return; // someone else finished first, or the user logged out meanwhile
+            }
+            storedExperience = stored;
+            petThresholds = thresholds.stream().mapToInt(Integer::intValue).toArray();
+            loaded = true;
+        }
+        publish();
+    }
+
+    // petThresholds is sorted ascending
+    private static boolean crossesThreshold(int before, int after) {
+        for (int threshold : petThresholds) {
+            if (threshold > after) {
+                return false;
+            }
+            if (threshold > before) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The property always gets the value as of when it is set, so updates can't arrive out of order
+    private static void publish() {
+        if (Platform.isFxApplicationThread()) {
+            experience.set(currentValue());
+        } else {
+            Platform.runLater(() -> experience.set(currentValue()));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.Evora.Pets;
+
+import javafx.scene.image.Image;
+
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Decoded pet GIFs, shared by every ImageView that shows the same pet at the same size. An
+ * Image holds all of its animation frames, so one instance per (file, size, smooth) also means
+ * one set of frames however many views show it.
+ *
+ * Images are decoded by JavaFX's background loader, so asking for one never blocks the FX
+ * thread; the view fills in when the decode finishes. Recently used images are kept up to a
+ * byte budget; older ones are only softly held and go when memory is needed.
+ */
+public class PetImages {
+
+    // Roughly how many decoded bytes stay strongly held
+    private static final long BUDGET_BYTES = 48L * 1024 * 1024;
+    // Used for images whose size isn't known until their decode finishes
+    private static final long UNKNOWN_SIZE_BYTES = 256L * 256 * 4;
+
+    // FX thread only
+    private static final LinkedHashMap<Key, Image> recent = new LinkedHashMap<>(16, 0.75f, true); // LRU order
+    private static final Map<Key, Long> recentBytes = new HashMap<>();
+    private static final Map<Key, SoftReference<Image>> older = new HashMap<>();
+    private static long heldBytes = 0;
+
+    // The pet's GIF at its own size
+    public static Image get(String filename) {
+        return get(filename, 0, false);
+    }
+
+    // The pet's GIF scaled to fit size x size (0 = its own size); throws if there is no such file
+    public static Image get(String filename, double size, boolean smooth) {
+        Key key = new Key(filename, size, smooth);
+        Image image = recent.get(key);
+        if (image != null) {
+            return image;
+        }
+
+        SoftReference<Image> ref = older.remove(key);
+        image = ref != null ? ref.get() : null;
+        if (image == null) {
+            URL url = PetImages.class.getResource("/pet_gifs/" + filename);
+            if (url == null) {
+                throw new IllegalArgumentException("No pet GIF named " + filename);
+            }
+            image = new Image(url.toExternalForm(), size, size, true, smooth, true); // decoded in the background
+            Image loading = image;
+            image.progressProperty().addListener((obs, old, progress) -> {
+                if (progress.doubleValue() >= 1.0 && recent.get(key) == loading) {
+                    hold(key, loading); // now its real size is known
+                }
+            });
+        }
+        hold(key, image);
+        return image;
+    }
+
+    private static void hold(Key key, Image image) {
+        Long previous = recentBytes.remove(key);
+        if (previous != null) {
+            heldBytes -= previous;
+        }
+        long bytes = image.getWidth() > 0 ? (long) image.getWidth() * (long) image.getHeight() * 4 : UNKNOWN_SIZE_BYTES;
+        recent.put(key, image);
+        recentBytes.put(key, bytes);
+        heldBytes += bytes;
+        trim();
+    }
+
+    // Demote the least recently used images to soft references until under budget
+    private static void trim() {
+        Iterator<Map.Entry<Key, Image>> entries = recent.entrySet().iterator();
+        while (heldBytes > BUDGET_BYTES && recent.size() > 1 && entries.hasNext()) {
+            Map.Entry<Key, Image> eldest = entries.next();
+            entries.remove();
+            heldBytes -= recentBytes.remove(eldest.getKey());
+            older.put(eldest.getKey(), new SoftReference<>(eldest.getValue()));
+        }
+        older.values().removeIf(ref -> ref.get() == null);
+    }
+
+    private static class Key {
+        final String filename;
+        final double size;
+        final boolean smooth;
+
+        Key(String filename, double size, boolean smooth) {
+            this.filename = filename;
+            this.size = size;
+            this.smooth = smooth;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key other)) return false;
+            return filename.equals(other.filename) && size == other.size && smooth == other.smooth;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(filename, size, smooth);
+        }
+    }
+}
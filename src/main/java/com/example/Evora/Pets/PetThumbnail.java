@@ -0,0 +1,282 @@
+package com.example.Evora.Pets;
+
+import com.example.Evora.Loading.BackgroundLoader;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.util.Duration;
+import org.w3c.dom.NodeList;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A small pet tile for the pets grids. Instead of the full GIF it shows a pre-scaled sprite
+ * sheet: every frame of the GIF, already composited and shrunk to the tile size, in one PNG.
+ * The tile shows the first frame and only animates while the mouse is over it, so a grid of
+ * twenty pets costs twenty small still images rather than twenty full-size animations.
+ *
+ * Sheets are made the first time a pet is shown at a size and kept on disk under
+ * ~/.evora/pet_thumbnails, so later runs only read a small PNG.
+ */
+public class PetThumbnail extends ImageView {
+
+    private static final Path CACHE_DIR = Paths.get(System.getProperty("user.home"), ".evora", "pet_thumbnails");
+    // Frames per row in a sheet; keeps sheets well under the largest texture size
+    private static final int COLUMNS = 16;
+
+    // Sheets already read, and tiles waiting for one being made (FX thread only)
+    private static final Map<String, Sheet> sheets = new HashMap<>();
+    private static final Map<String, List<PetThumbnail>> waiting = new HashMap<>();
+
+    private Sheet sheet;
+    private Timeline animation;
+    private boolean hovered = false;
+
+    // Throws if there is no GIF with that name, like the full-size image would
+    public PetThumbnail(String filename, int size) {
+        URL url = PetThumbnail.class.getResource("/pet_gifs/" + filename);
+        if (url == null) {
+            throw new IllegalArgumentException("No pet GIF named " + filename);
+        }
+        setFitWidth(size);
+        setFitHeight(size);
+        setPreserveRatio(true);
+
+        String key = filename + "@" + size;
+        Sheet cached = sheets.get(key);
+        if (cached != null) {
+            show(cached);
+            return;
+        }
+        List<PetThumbnail> tiles = waiting.get(key);
+        if (tiles != null) {
+            tiles.add(this); // the same sheet is already being made
+            return;
+        }
+        tiles = new ArrayList<>();
+        tiles.add(this);
+        waiting.put(key, tiles);
+
+        BackgroundLoader.load("pet thumbnail " + key, () -> loadSheet(url, filename, size), loaded -> {
+            sheets.put(key, loaded);
+            for (PetThumbnail tile : waiting.remove(key)) {
+                tile.show(loaded);
+            }
+        }, error -> {
+            waiting.remove(key);
+            System.err.println("Error making thumbnail for " + filename + ": " + error.getMessage());
+            error.printStackTrace();
+        });
+    }
+
+    // Animate while the mouse is over target (usually the card holding this tile)
+    public void playWhileHovered(Node target) {
+        target.hoverProperty().addListener((obs, was, isHovered) -> {
+            hovered = isHovered;
+            if (isHovered) {
+                play();
+            } else {
+                stop();
+            }
+        });
+    }
+
+    private void show(Sheet loaded) {
+        sheet = loaded;
+        setImage(loaded.image);
+        setViewport(loaded.viewports[0]);
+        if (hovered) {
+            play();
+        }
+    }
+
+    private void play() {
+        if (sheet == null || sheet.viewports.length < 2) {
+            return;
+        }
+        if (animation == null) {
+            animation = new Timeline();
+            long at = 0;
+            for (int i = 0; i < sheet.viewports.length; i++) {
+                Rectangle2D viewport = sheet.viewports[i];
+                animation.getKeyFrames().add(new KeyFrame(Duration.millis(at), e -> setViewport(viewport)));
+                at += sheet.delays[i];
+            }
+            animation.getKeyFrames().add(new KeyFrame(Duration.millis(at))); // hold the last frame
+            animation.setCycleCount(Timeline.INDEFINITE);
+        }
+        animation.playFromStart();
+    }
+
+    private void stop() {
+        if (animation != null) {
+            animation.stop();
+        }
+        if (sheet != null) {
+            setViewport(sheet.viewports[0]);
+        }
+    }
+
+    // ---- Sheet on disk (background thread) ----------------------------------------------
+
+    private static Sheet loadSheet(URL url, String filename, int size) throws IOException {
+        long length = url.openConnection().getContentLengthLong(); // a changed GIF gets a new sheet
+        String base = filename.replaceAll("\\.gif$", "") + "_" + size + "_" + length;
+        Path png = CACHE_DIR.resolve(base + ".png");
+        Path delaysFile = CACHE_DIR.resolve(base + ".delays");
+
+        if (!Files.exists(png) || !Files.exists(delaysFile)) {
+            makeSheet(url, size, png, delaysFile);
+            System.out.println("🖼 Made pet thumbnail " + png.getFileName());
+        }
+
+        String[] parts = Files.readString(delaysFile).trim().split(",");
+        int[] delays = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            delays[i] = Integer.parseInt(parts[i]);
+        }
+        Image image = new Image(png.toUri().toString()); // small, read here off the FX thread
+        if (image.isError()) {
+            throw new IOException("Could not read " + png, image.getException());
+        }
+
+        Rectangle2D[] viewports = new Rectangle2D[delays.length];
+        for (int i = 0; i < viewports.length; i++) {
+            viewports[i] = new Rectangle2D((i % COLUMNS) * size, (i / COLUMNS) * size, size, size);
+        }
+        return new Sheet(image, viewports, delays);
+    }
+
+    // Decode every GIF frame onto a full canvas (GIF frames are often just the changed part),
+    // shrink each to size x size and lay them out in rows of COLUMNS
+    private static void makeSheet(URL url, int size, Path png, Path delaysFile) throws IOException {
+        List<BufferedImage> frames = new ArrayList<>();
+        List<Integer> delays = new ArrayList<>();
+
+        ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+        try (InputStream stream = url.openStream();
+             ImageInputStream in = ImageIO.createImageInputStream(stream)) {
+            reader.setInput(in, false);
+            int count = reader.getNumImages(true);
+
+            BufferedImage canvas = null;
+            for (int i = 0; i < count; i++) {
+                BufferedImage frame = reader.read(i);
+                IIOMetadataNode meta = (IIOMetadataNode) reader.getImageMetadata(i).getAsTree("javax_imageio_gif_image_1.0");
+                IIOMetadataNode descriptor = child(meta, "ImageDescriptor");
+                IIOMetadataNode control = child(meta, "GraphicControlExtension");
+                int left = descriptor != null ? Integer.parseInt(descriptor.getAttribute("imageLeftPosition")) : 0;
+                int top = descriptor != null ? Integer.parseInt(descriptor.getAttribute("imageTopPosition")) : 0;
+                String disposal = control != null ? control.getAttribute("disposalMethod") : "none";
+                int delay = control != null ? Integer.parseInt(control.getAttribute("delayTime")) * 10 : 100;
+
+                if (canvas == null) {
+                    int width = Math.max(reader.getWidth(0), left + frame.getWidth());
+                    int height = Math.max(reader.getHeight(0), top + frame.getHeight());
+                    canvas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+                }
+                BufferedImage before = disposal.equals("restoreToPrevious") ? copy(canvas) : null;
+
+                Graphics2D g = canvas.createGraphics();
+                g.drawImage(frame, left, top, null);
+                g.dispose();
+
+                frames.add(scale(canvas, size));
+                delays.add(delay < 20 ? 100 : delay); // browsers treat tiny delays as 100 ms too
+
+                if (disposal.equals("restoreToBackgroundColor")) {
+                    Graphics2D clear = canvas.createGraphics();
+                    clear.setComposite(AlphaComposite.Clear);
+                    clear.fillRect(left, top, frame.getWidth(), frame.getHeight());
+                    clear.dispose();
+                } else if (before != null) {
+                    canvas = before;
+                }
+            }
+        } finally {
+            reader.dispose();
+        }
+        if (frames.isEmpty()) {
+            throw new IOException("GIF has no frames: " + url);
+        }
+
+        int columns = Math.min(COLUMNS, frames.size());
+        int rows = (frames.size() + COLUMNS - 1) / COLUMNS;
+        BufferedImage sheet = new BufferedImage(columns * size, rows * size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = sheet.createGraphics();
+        for (int i = 0; i < frames.size(); i++) {
+            g.drawImage(frames.get(i), (i % COLUMNS) * size, (i / COLUMNS) * size, null);
+        }
+        g.dispose();
+
+        // Written to temp files and moved so a half-written sheet is never read
+        Files.createDirectories(CACHE_DIR);
+        Path tmpPng = Files.createTempFile(CACHE_DIR, "sheet", ".tmp");
+        Path tmpDelays = Files.createTempFile(CACHE_DIR, "delays", ".tmp");
+        ImageIO.write(sheet, "png", tmpPng.toFile());
+        Files.writeString(tmpDelays, String.join(",", delays.stream().map(String::valueOf).toList()));
+        Files.move(tmpPng, png, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(tmpDelays, delaysFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // The frame fitted into size x size, keeping its shape, centred
+    private static BufferedImage scale(BufferedImage source, int size) {
+        double ratio = Math.min((double) size / source.getWidth(), (double) size / source.getHeight());
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage scaled = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(source, (size - width) / 2, (size - height) / 2, width, height, null);
+        g.dispose();
+        return scaled;
+    }
+
+    private static BufferedImage copy(BufferedImage source) {
+        BufferedImage copy = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = copy.createGraphics();
+        g.drawImage(source, 0, 0, null);
+        g.dispose();
+        return copy;
+    }
+
+    private static IIOMetadataNode child(IIOMetadataNode parent, String name) {
+        NodeList nodes = parent.getElementsByTagName(name);
+        return nodes.getLength() > 0 ? (IIOMetadataNode) nodes.item(0) : null;
+    }
+
+    private static class Sheet {
+        final Image image;
+        final Rectangle2D[] viewports;
+        final int[] delays; // ms per frame
+
+        Sheet(Image image, Rectangle2D[] viewports, int[] delays) {
+            this.image = image;
+            this.viewports = viewports;
+            this.delays = delays;
+        }
+    }
+}
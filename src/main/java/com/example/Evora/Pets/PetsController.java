@@ -143,6 +143,7 @@ public class PetsController {
 
     // Get all unlocked pets for this user
     public List<Pet> getUnlockedPets() {
+        ExperienceService.flush();
         List<Pet> pets = new ArrayList<>();
         String sql = """
             SELECT pt.pet_type_id, 
@@ -188,8 +189,8 @@ public class PetsController {
 
     // Get all available pets (for collection view)
     public List<Pet> getAllPets() {
-        // Check for new unlocks when viewing all pets
-        checkAndUnlockPets();
+        // Unlocks are handled by ExperienceService; just make sure the XP read below is current
+        ExperienceService.flush();
 
         List<Pet> pets = new ArrayList<>();
         String sql = """
@@ -273,6 +274,17 @@ public class PetsController {
 
     // Check and unlock new pets based on user experience
     public void checkAndUnlockPets() {
+        ExperienceService.flush(); // the query reads the stored experience
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            unlockPets(conn, currentUserId);
+        } catch (SQLException e) {
+            System.err.println("Error unlocking pets: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // Unlock every pet the stored experience qualifies for; returns how many were new
+    static int unlockPets(Connection conn, int userId) throws SQLException {
         String sql = """
             INSERT INTO PetMascot (user_id, pet_type_id, pet_name)
             SELECT ?, pt.pet_type_id, pt.pet_name
@@ -283,42 +295,22 @@ public class PetsController {
             )
             """;
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, currentUserId);
-            stmt.setInt(2, currentUserId);
-            stmt.setInt(3, currentUserId);
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, userId);
+            stmt.setInt(2, userId);
+            stmt.setInt(3, userId);
 
             int unlocked = stmt.executeUpdate();
             if (unlocked > 0) {
-                System.out.println("Unlocked " + unlocked + " new pets for user " + currentUserId);
+                System.out.println("Unlocked " + unlocked + " new pets for user " + userId);
             }
-        } catch (SQLException e) {
-            System.err.println("Error unlocking pets: " + e.getMessage());
-            e.printStackTrace();
+            return unlocked;
         }
     }
 
     // Get user experience
     public int getUserExperience() {
-        String sql = "SELECT experience FROM Users WHERE user_id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, currentUserId);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("experience");
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error fetching user experience: " + e.getMessage());
-            e.printStackTrace();
-        }
-        return 0;
+        return ExperienceService.getExperience();
     }
 
     // Get user badges
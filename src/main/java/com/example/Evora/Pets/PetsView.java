@@ -1,5 +1,7 @@
 package com.example.Evora.Pets;
 
+import com.example.Evora.Loading.BackgroundLoader;
+import com.example.Evora.Loading.Skeleton;
 import com.example.Evora.Theme.Pastel;
 import com.example.Evora.Theme.Theme;
 import com.example.Evora.Theme.ThemeManager;
@@ -12,7 +14,6 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.FontPosture;
 import javafx.scene.text.TextAlignment;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.application.Platform;
 import javafx.scene.Node;
@@ -25,12 +26,42 @@ public class PetsView extends BorderPane {
     private VBox contentArea;
     private HBox tabContainer;
     private ThemeManager themeManager;
+    private Label subtitle;
+    private PetsData data; // null until the first load finishes
+
+    // Everything the tabs show, read in one go off the FX thread
+    private static class PetsData {
+        PetsController.Pet currentPet;
+        List<PetsController.Pet> unlockedPets;
+        List<PetsController.Pet> allPets;
+        List<PetsController.Badge> badges;
+        int userExperience;
+    }
 
     public PetsView(PetsController controller) {
         this.controller = controller;
         this.themeManager = ThemeManager.getInstance();
         createView();
-        refreshData();
+        reloadData();
+    }
+
+    private PetsData loadPetsData() {
+        PetsData loaded = new PetsData();
+        loaded.currentPet = controller.getCurrentPet();
+        loaded.unlockedPets = controller.getUnlockedPets();
+        loaded.allPets = controller.getAllPets();
+        loaded.badges = controller.getUserBadges();
+        loaded.userExperience = controller.getUserExperience();
+        return loaded;
+    }
+
+    // Fetch fresh data in the background, then redraw the header and the active tab
+    private void reloadData() {
+        BackgroundLoader.forView("pets", this::loadPetsData, loaded -> {
+            data = loaded;
+            subtitle.setText("Unlock new pets as you gain experience! • Your XP: " + data.userExperience + " ✨");
+            refreshData();
+        });
     }
 
     private String forceTextColor(Color color) {
@@ -56,8 +87,7 @@ public class PetsView extends BorderPane {
         contentArea = new VBox();
         contentArea.setAlignment(Pos.TOP_CENTER);
         contentArea.setSpacing(25);
-
-        showCurrentPetTab();
+        contentArea.getChildren().addAll(Skeleton.block(600, 380), Skeleton.block(600, 220));
 
         mainContent.getChildren().addAll(headerBox, tabNavigation, contentArea);
 
@@ -79,8 +109,7 @@ public class PetsView extends BorderPane {
         title.setFont(Font.font("System", FontWeight.BOLD, 32));
         title.setStyle(forceTextColor(Color.web(currentTheme.getTextPrimary())));
 
-        int userExp = controller.getUserExperience();
-        Label subtitle = new Label("Unlock new pets as you gain experience! • Your XP: " + userExp + " ✨");
+        subtitle = new Label("Unlock new pets as you gain experience! • Your XP: ... ✨");
         subtitle.setFont(Font.font("System", 16));
         subtitle.setStyle(forceTextColor(Color.web(currentTheme.getTextSecondary())));
 
@@ -181,7 +210,11 @@ public class PetsView extends BorderPane {
         refreshData();
     }
 
+    // Redraw the active tab from the loaded data
     private void refreshData() {
+        if (data == null) {
+            return; // placeholders stay until the first load finishes
+        }
         contentArea.getChildren().clear();
 
         switch (activeTab) {
@@ -225,7 +258,7 @@ public class PetsView extends BorderPane {
         title.setAlignment(Pos.CENTER);
 
         VBox badgesList = new VBox(15);
-        List<PetsController.Badge> badges = controller.getUserBadges();
+        List<PetsController.Badge> badges = data.badges;
 
         for (PetsController.Badge badge : badges) {
             HBox badgeItem = createBadgeItem(badge);
@@ -406,7 +439,7 @@ public class PetsView extends BorderPane {
     }
 
     private void showCurrentPetTab() {
-        PetsController.Pet currentPet = controller.getCurrentPet();
+        PetsController.Pet currentPet = data.currentPet;
         if (currentPet != null) {
             VBox petDisplayCard = createPetDisplayCard(currentPet, false);
             VBox unlockedPetsCard = createUnlockedPetsCard();
@@ -518,7 +551,7 @@ public class PetsView extends BorderPane {
         petDisplay.setPrefSize(80, 80);
 
         try {
-            ImageView petGif = new ImageView(new Image(getPetGifPath(pet.getGifFilename())));
+            ImageView petGif = new ImageView(PetImages.get(pet.getGifFilename()));
             petGif.setFitWidth(60);
             petGif.setFitHeight(60);
             petGif.setPreserveRatio(true);
@@ -619,7 +652,7 @@ public class PetsView extends BorderPane {
                 if (controller.changePetName(pet.getPetTypeId(), newName)) {
                     // Show success notification
                     showSuccessNotification("Name updated to " + newName + "! 🎉");
-                    refreshData();
+                    reloadData();
                     // Notify that pet changed so sidebar updates
                     controller.notifyPetChanged();
                 } else {
@@ -678,7 +711,7 @@ public class PetsView extends BorderPane {
         petContainer.setPrefSize(150, 150);
 
         try {
-            ImageView petGif = new ImageView(new Image(getPetGifPath(pet.getGifFilename())));
+            ImageView petGif = new ImageView(PetImages.get(pet.getGifFilename()));
             petGif.setFitWidth(120);
             petGif.setFitHeight(120);
             petGif.setPreserveRatio(true);
@@ -707,7 +740,7 @@ public class PetsView extends BorderPane {
     }
 
     private Button createEquipButton(PetsController.Pet pet) {
-        PetsController.Pet currentPet = controller.getCurrentPet();
+        PetsController.Pet currentPet = data.currentPet;
         boolean isEquipped = currentPet != null && currentPet.getPetTypeId() == pet.getPetTypeId();
 
         Button equipButton = new Button(isEquipped ? "✓ Equipped" : "Equip");
@@ -725,7 +758,7 @@ public class PetsView extends BorderPane {
             equipButton.setOnAction(e -> {
                 if (controller.equipPet(pet.getPetTypeId())) {
                     controller.notifyPetChanged();
-                    refreshData();
+                    reloadData();
                 }
             });
         }
@@ -758,8 +791,8 @@ public class PetsView extends BorderPane {
         petGrid.setAlignment(Pos.CENTER);
         petGrid.setPrefWidth(550);
 
-        List<PetsController.Pet> unlockedPets = controller.getUnlockedPets();
-        PetsController.Pet currentPet = controller.getCurrentPet();
+        List<PetsController.Pet> unlockedPets = data.unlockedPets;
+        PetsController.Pet currentPet = data.currentPet;
 
         for (PetsController.Pet pet : unlockedPets) {
             if (pet.getPetTypeId() != currentPet.getPetTypeId()) {
@@ -793,7 +826,9 @@ public class PetsView extends BorderPane {
         card.setPrefSize(140, 160);
 
         try {
-            ImageView petImage = new ImageView(new Image(getPetGifPath(pet.getGifFilename()), 80, 80, true, true));
+            // Still until hovered; a full grid of animated GIFs is costly to draw
+            PetThumbnail petImage = new PetThumbnail(pet.getGifFilename(), 80);
+            petImage.playWhileHovered(card);
             card.getChildren().add(petImage);
         } catch (Exception e) {
             Label emojiLabel = new Label(getSpeciesEmoji(pet.getSpecies()));
@@ -837,7 +872,7 @@ public class PetsView extends BorderPane {
         title.setAlignment(Pos.CENTER);
 
         VBox petsList = new VBox(15);
-        List<PetsController.Pet> unlockedPets = controller.getUnlockedPets();
+        List<PetsController.Pet> unlockedPets = data.unlockedPets;
 
         for (PetsController.Pet pet : unlockedPets) {
             HBox petItem = createCollectionPetItem(pet);
@@ -868,7 +903,8 @@ public class PetsView extends BorderPane {
         petItem.setAlignment(Pos.CENTER_LEFT);
 
         try {
-            ImageView petImage = new ImageView(new Image(getPetGifPath(pet.getGifFilename()), 80, 80, true, true));
+            PetThumbnail petImage = new PetThumbnail(pet.getGifFilename(), 80);
+            petImage.playWhileHovered(petItem);
             petItem.getChildren().add(petImage);
         } catch (Exception e) {
             Label emojiLabel = new Label(getSpeciesEmoji(pet.getSpecies()));
@@ -917,7 +953,7 @@ public class PetsView extends BorderPane {
                 "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.15), 20, 0.5, 0, 6);");
         card.setMaxWidth(800);
 
-        int userExp = controller.getUserExperience();
+        int userExp = data.userExperience;
         Label expHeader = new Label("Your Total Experience: " + userExp + " XP ✨");
         expHeader.setFont(Font.font("System", FontWeight.BOLD, 18));
         expHeader.setStyle(forceTextColor(Color.web(currentTheme.getTextPrimary())));
@@ -929,7 +965,7 @@ public class PetsView extends BorderPane {
         title.setAlignment(Pos.CENTER);
 
         VBox petsList = new VBox(15);
-        List<PetsController.Pet> allPets = controller.getAllPets();
+        List<PetsController.Pet> allPets = data.allPets;
 
         for (PetsController.Pet pet : allPets) {
             HBox petItem = createAllPetsItem(pet);
@@ -966,7 +1002,8 @@ public class PetsView extends BorderPane {
 
         // Always show the pet GIF, even if locked - just with lower opacity
         try {
-            ImageView petImage = new ImageView(new Image(getPetGifPath(pet.getGifFilename()), 80, 80, true, true));
+            PetThumbnail petImage = new PetThumbnail(pet.getGifFilename(), 80);
+            petImage.playWhileHovered(petItem);
             if (!pet.isUnlocked()) {
                 petImage.setOpacity(0.7);
             }
@@ -1011,10 +1048,6 @@ public class PetsView extends BorderPane {
     }
 
     // Helper methods
-    private String getPetGifPath(String filename) {
-        return getClass().getResource("/pet_gifs/" + filename).toExternalForm();
-    }
-
     private String getSpeciesEmoji(String species) {
         switch (species.toLowerCase()) {
             case "cat": return "🐱";
@@ -1,7 +1,7 @@
 package com.example.Evora.Pomodoro;
 
 import com.example.Evora.Pets.PetsController;
-import com.example.Evora.Sidebar.Sidebar;
+import com.example.Evora.Sound.SoundEffects;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.util.Duration;
@@ -34,10 +34,6 @@ public class PomodoroController {
         loadActiveSession();
     }
 
-    public void setSidebar(Sidebar sidebar) {
-        sessionManager.setSidebar(sidebar);
-    }
-
     public void setPetsController(PetsController petsController) {
         this.petsController = petsController;
         updatePetDisplay();
@@ -162,6 +158,7 @@ public class PomodoroController {
                 view.setPetVisibility(false);
             }
 
+            SoundEffects.play(SoundEffects.Effect.CHIME);
             if (isBreak) {
                 startWorkSession();
             } else {
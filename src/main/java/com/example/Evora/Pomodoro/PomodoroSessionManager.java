@@ -2,22 +2,19 @@ package com.example.Evora.Pomodoro;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import com.example.Evora.Sidebar.Sidebar;
+import com.example.Evora.Pets.ExperienceService;
+import com.example.Evora.Analytics.DailyActivityService;
+import com.example.Evora.DataChanges;
 import com.example.Evora.Database.DatabaseConnection;
 import java.sql.*;
 
 public class PomodoroSessionManager {
     private int userId;
-    private Sidebar sidebar;
 
     public PomodoroSessionManager(int userId) {
         this.userId = userId;
     }
 
-    public void setSidebar(Sidebar sidebar) {
-        this.sidebar = sidebar;
-    }
-
     // Data class for active sessions
     public static class ActiveSessionData {
         public int sessionId;
@@ -118,17 +115,18 @@ public class PomodoroSessionManager {
     }
 
     public void completeSession(int sessionId) {
-        String sql = "UPDATE PomodoroSessions SET status = 'Completed', end_time = GETDATE(), completed_cycles = 1 WHERE session_id = ?";
+        String sql = "UPDATE PomodoroSessions SET status = 'Completed', end_time = GETDATE(), completed_cycles = 1 WHERE session_id = ? AND status <> 'Completed'";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, sessionId);
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() > 0) {
+                DailyActivityService.recordPomodoro(conn, sessionId);
+                DataChanges.publish(DataChanges.Type.POMODORO);
+            }
 
             // Award experience
-            awardExperience(100);
-            if (sidebar != null)
-                sidebar.refreshExperienceFromDatabase(userId);
+            ExperienceService.award(100);
 
             System.out.println("Session " + sessionId + " completed asynchronously");
         } catch (SQLException e) {
@@ -149,19 +147,6 @@ public class PomodoroSessionManager {
         }
     }
 
-    private void awardExperience(int exp) {
-        String sql = "UPDATE Users SET experience = experience + ? WHERE user_id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, exp);
-            stmt.setInt(2, userId);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
-
     public void pauseSession(int sessionId) {
         String sql = "UPDATE PomodoroSessions SET status = 'Paused', last_pause_time = GETDATE() WHERE session_id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
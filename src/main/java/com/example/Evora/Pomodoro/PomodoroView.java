@@ -1,11 +1,11 @@
 package com.example.Evora.Pomodoro;
 
+import com.example.Evora.Pets.PetImages;
 import com.example.Evora.Pets.PetsController;
 import com.example.Evora.Theme.Pastel;
 import com.example.Evora.Theme.Galaxy;
 import com.example.Evora.Theme.Theme;
 import com.example.Evora.Theme.ThemeManager;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.text.Font;
 import javafx.animation.KeyFrame;
@@ -405,7 +405,7 @@ public class PomodoroView {
             petNameLabel.setStyle("-fx-text-fill: " + Pastel.FOREST + "; -fx-font-weight: bold; -fx-font-size: 14px;");
 
             try {
-                ImageView petGif = new ImageView(new Image(getPetGifPath(currentPet.getGifFilename())));
+                ImageView petGif = new ImageView(PetImages.get(currentPet.getGifFilename()));
                 petGif.setFitWidth(80);
                 petGif.setFitHeight(80);
                 petGif.setPreserveRatio(true);
@@ -530,14 +530,6 @@ public class PomodoroView {
         timerCircle.setStrokeDashOffset(circumference * (1 - progress));
     }
 
-    private String getPetGifPath(String filename) {
-        try {
-            return getClass().getResource("/pet_gifs/" + filename).toExternalForm();
-        } catch (Exception e) {
-            return "";
-        }
-    }
-
     private String getSpeciesEmoji(String species) {
         switch (species.toLowerCase()) {
             case "cat": return "🐱";
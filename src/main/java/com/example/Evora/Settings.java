@@ -1,5 +1,6 @@
 package com.example.Evora;
 
+import com.example.Evora.Pets.PetImages;
 import com.example.Evora.Theme.*;
 import com.example.Evora.Sidebar.Sidebar;
 import com.example.Evora.Database.DatabaseConnection;
@@ -9,7 +10,6 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import java.sql.*;
 
@@ -694,7 +694,7 @@ public class Settings {
         petDisplay.setStyle("-fx-background-color: " + themeManager.getCurrentTheme().getCardColor() + "80; -fx-background-radius: 15;");
 
         try {
-            ImageView petImage = new ImageView(new Image(getClass().getResource("/pet_gifs/" + gifFilename).toExternalForm()));
+            ImageView petImage = new ImageView(PetImages.get(gifFilename));
             petImage.setFitWidth(80);
             petImage.setFitHeight(80);
             petImage.setPreserveRatio(true);
@@ -726,7 +726,7 @@ public class Settings {
         petDisplay.setPadding(new Insets(10));
 
         try {
-            ImageView petImage = new ImageView(new Image(getClass().getResource("/pet_gifs/" + gifFilename).toExternalForm()));
+            ImageView petImage = new ImageView(PetImages.get(gifFilename));
             petImage.setFitWidth(100);
             petImage.setFitHeight(100);
             petImage.setPreserveRatio(true);
@@ -1,6 +1,8 @@
 package com.example.Evora.Sidebar;
 
 import com.example.Evora.Login.LoginView;
+import com.example.Evora.Pets.ExperienceService;
+import com.example.Evora.Pets.PetImages;
 import com.example.Evora.Theme.Pastel;
 import com.example.Evora.Theme.Theme;
 import com.example.Evora.Theme.ThemeManager;
@@ -13,9 +15,8 @@ import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
-import javafx.scene.image.Image;
-import com.example.Evora.Database.DatabaseConnection;
-import java.sql.*;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
 
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
@@ -42,6 +43,8 @@ public class Sidebar extends VBox {
     private String currentPetName;
     private String currentPetSpecies;
     private String currentPetGifFilename;
+    // Kept in a field so the weak listener on the shared XP property lives as long as this sidebar
+    private final ChangeListener<Number> experienceListener = (obs, oldExp, newExp) -> updateExperience(newExp.intValue());
 
     // In your Sidebar class, add this to the constructor:
     public Sidebar(SidebarController controller, String userName, int userId) {
@@ -56,8 +59,9 @@ public class Sidebar extends VBox {
         //createMascotSection();
         createNavButtons();
         createMascotSection();
-        // Initialize with current experience from database
-        refreshExperienceFromDatabase(userId);
+        // Follow the in-memory experience; no query needed after each award
+        ExperienceService.experienceProperty().addListener(new WeakChangeListener<>(experienceListener));
+        updateExperience(ExperienceService.experienceProperty().get());
 
         // Apply initial theme
         applyTheme(themeManager.getCurrentTheme());
@@ -92,7 +96,7 @@ public class Sidebar extends VBox {
 
             try {
                 // Try to load the pet GIF
-                ImageView petImage = new ImageView(new Image(getPetGifPath(gifFilename), 60, 60, true, true));
+                ImageView petImage = new ImageView(PetImages.get(gifFilename, 60, true));
                 contentBox.getChildren().add(petImage);
             } catch (Exception e) {
                 // Fallback to species emoji
@@ -308,35 +312,6 @@ public class Sidebar extends VBox {
     }
 
 
-    public void refreshExperienceFromDatabase(int userId) {
-        int currentExp = getCurrentUserExperience(userId);
-        updateExperience(currentExp);
-    }
-
-    private int getCurrentUserExperience(int userId) {
-        String sql = "SELECT experience FROM Users WHERE user_id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getInt("experience");
-            }
-        } catch (SQLException e) {
-            System.err.println("Error fetching user experience: " + e.getMessage());
-            e.printStackTrace();
-        }
-        return 0;
-    }
-
-    // Helper method to get GIF path
-    private String getPetGifPath(String filename) {
-        return getClass().getResource("/pet_gifs/" + filename).toExternalForm();
-    }
-
     // Helper method to get species emoji
     private String getSpeciesEmoji(String species) {
         switch (species.toLowerCase()) {
@@ -551,6 +526,9 @@ public class Sidebar extends VBox {
 
             // ADD THIS CODE TO NAVIGATE TO LOGIN PAGE
             try {
+                // Don't leave this user's XP waiting in memory
+                ExperienceService.flushAsync();
+
                 // Get the current stage from any node in the scene
                 Stage stage = (Stage) logoutBtn.getScene().getWindow();
 
@@ -1,6 +1,7 @@
 package com.example.Evora.Sidebar;
 
 import com.example.Evora.Login.LoginView;
+import com.example.Evora.Pets.ExperienceService;
 import javafx.stage.Stage;
 
 import java.util.function.Consumer;
@@ -50,6 +51,9 @@ public class SidebarController {
     // Add this method to your Sidebar class
     public void navigateToLogin() {
         try {
+            // Don't leave this user's XP waiting in memory
+            ExperienceService.flushAsync();
+
             // Get the current stage
             Stage stage = (Stage) this.getStage();
 
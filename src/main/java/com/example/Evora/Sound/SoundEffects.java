@@ -0,0 +1,124 @@
+package com.example.Evora.Sound;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Short sound effects (task done, Pomodoro phase change, pet unlock). Each effect is decoded
+ * once into PCM and loaded into a few Clips that stay open, so playing one is just rewinding a
+ * clip and starting it - no file reading, decoding or line opening on the click. Having more
+ * than one clip per effect lets quick plays overlap instead of cutting each other off.
+ */
+public class SoundEffects {
+
+    public enum Effect {
+        CHIME("/Sounds/chime_16bit.wav");
+
+        private final String resource;
+
+        Effect(String resource) {
+            this.resource = resource;
+        }
+    }
+
+    // How many plays of the same effect can sound at once
+    private static final int CLIPS_PER_EFFECT = 3;
+
+    // Guarded by the class lock
+    private static final Map<Effect, Clip[]> clips = new EnumMap<>(Effect.class);
+    private static final Map<Effect, Integer> nextClip = new EnumMap<>(Effect.class);
+    private static boolean loaded = false;
+
+    // Decode every effect and open its clips; slow, so call it off the FX thread at startup
+    public static void preload() {
+        synchronized (SoundEffects.class) {
+            if (loaded) {
+                return;
+            }
+            loaded = true; // a failed effect isn't retried on every play
+        }
+        for (Effect effect : Effect.values()) {
+            Clip[] opened = open(effect);
+            if (opened != null) {
+                synchronized (SoundEffects.class) {
+                    clips.put(effect, opened);
+                    nextClip.put(effect, 0);
+                }
+            }
+        }
+        System.out.println("🔔 Sound effects ready");
+    }
+
+    // Play from the start; safe from any thread. Does nothing until preload() has finished.
+    public static void play(Effect effect) {
+        Clip clip;
+        synchronized (SoundEffects.class) {
+            Clip[] pool = clips.get(effect);
+            if (pool == null) {
+                return;
+            }
+            int index = nextClip.get(effect);
+            nextClip.put(effect, (index + 1) % pool.length);
+            clip = pool[index]; // the one that started longest ago
+        }
+        try {
+            clip.stop();
+            clip.setFramePosition(0);
+            clip.start();
+        } catch (Exception e) {
+            System.out.println("Could not play " + effect + ": " + e.getMessage());
+        }
+    }
+
+    // Close every clip, giving their lines back to the mixer
+    public static synchronized void shutdown() {
+        for (Clip[] pool : clips.values()) {
+            for (Clip clip : pool) {
+                clip.close();
+            }
+        }
+        clips.clear();
+        nextClip.clear();
+    }
+
+    private static Clip[] open(Effect effect) {
+        InputStream resource = SoundEffects.class.getResourceAsStream(effect.resource);
+        if (resource == null) {
+            System.err.println("Missing sound effect: " + effect.resource);
+            return null;
+        }
+
+        Clip[] pool = new Clip[CLIPS_PER_EFFECT];
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(new BufferedInputStream(resource))) {
+            // Decode to plain 16-bit PCM once, whatever the file holds
+            AudioFormat from = source.getFormat();
+            AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, from.getSampleRate(), 16,
+                    from.getChannels(), from.getChannels() * 2, from.getSampleRate(), false);
+            byte[] data;
+            try (AudioInputStream decoded = AudioSystem.getAudioInputStream(pcm, source)) {
+                data = decoded.readAllBytes();
+            }
+
+            for (int i = 0; i < pool.length; i++) {
+                pool[i] = AudioSystem.getClip();
+                pool[i].open(pcm, data, 0, data.length);
+            }
+            return pool;
+        } catch (Exception e) {
+            System.err.println("Error loading sound effect " + effect + ": " + e.getMessage());
+            e.printStackTrace();
+            for (Clip clip : pool) {
+                if (clip != null) {
+                    clip.close();
+                }
+            }
+            return null;
+        }
+    }
+}
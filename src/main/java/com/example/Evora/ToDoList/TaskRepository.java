@@ -0,0 +1,446 @@
+package com.example.Evora.ToDoList;
+
+import com.example.Evora.Analytics.DailyActivityService;
+import com.example.Evora.DataChanges;
+import com.example.Evora.Database.DatabaseConnection;
+import com.example.Evora.Loading.BackgroundLoader;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableSet;
+
+import java.sql.*;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The one place ToDoTasks is read and written. The to-do list and the calendar both go through
+ * here, on pooled connections, and share one {@link Todo} model.
+ *
+ * The tasks with a due date (what the calendar shows) are loaded a month at a time and kept
+ * here for the most recently viewed months. The to-do list reports every change it makes with
+ * {@link #changed} / {@link #removed}, so the calendar sees a toggle, add or delete at once
+ * without reading the table again.
+ */
+public class TaskRepository {
+
+    private static volatile boolean indexesReady = false;
+    private static volatile boolean fullTextReady = false;
+
+    private static final String CREATE_INDEXES_SQL = """
+        IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_ToDoTasks_User_Completed_Order'
+                       AND object_id = OBJECT_ID('ToDoTasks'))
+            CREATE INDEX IX_ToDoTasks_User_Completed_Order ON ToDoTasks (user_id, is_completed, sort_order)
+                INCLUDE (priority, due_date, description);
+        IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_ToDoTasks_User_DueDate'
+                       AND object_id = OBJECT_ID('ToDoTasks'))
+            CREATE INDEX IX_ToDoTasks_User_DueDate ON ToDoTasks (user_id, due_date);
+        """;
+
+    // Full-text search needs the optional Full-Text Search feature; without it search uses LIKE
+    private static final String CREATE_FULL_TEXT_SQL = """
+        IF FULLTEXTSERVICEPROPERTY('IsFullTextInstalled') = 1
+           AND NOT EXISTS (SELECT 1 FROM sys.fulltext_indexes WHERE object_id = OBJECT_ID('ToDoTasks'))
+        BEGIN
+            IF NOT EXISTS (SELECT 1 FROM sys.fulltext_catalogs WHERE name = 'EvoraCatalog')
+                CREATE FULLTEXT CATALOG EvoraCatalog;
+            DECLARE @key sysname = (SELECT name FROM sys.indexes
+                                    WHERE object_id = OBJECT_ID('ToDoTasks') AND is_primary_key = 1);
+            EXEC('CREATE FULLTEXT INDEX ON ToDoTasks (description) KEY INDEX ' + @key
+                 + ' ON EvoraCatalog WITH CHANGE_TRACKING AUTO');
+        END
+        """;
+
+    private static final String SELECT_COLUMNS =
+            "SELECT task_id, description, priority, due_date, is_completed, COALESCE(sort_order, 0) AS sort_order FROM ToDoTasks ";
+
+    // Months of dated tasks kept in memory; the least recently viewed are dropped beyond this
+    private static final int MONTHS_CACHED = 12;
+    // A cached month that is shown again after this long is re-read in the background
+    private static final long STALE_AFTER_MILLIS = 60_000;
+
+    // Dated tasks of one user, for the months in the cache (FX thread only)
+    private static int datedUserId = -1;
+    private static final ObservableList<Todo> datedTasks = FXCollections.observableArrayList();
+    private static final ObservableSet<YearMonth> loadedMonths = FXCollections.observableSet();
+    private static final LinkedHashMap<YearMonth, Long> monthLoadedAt = new LinkedHashMap<>(16, 0.75f, true); // LRU order
+    private static final Set<YearMonth> monthsLoading = new HashSet<>();
+    private static int changeCount = 0; // bumped by changed/removed so a load can tell it raced one
+
+    // ---- Shared cache -------------------------------------------------------------------
+
+    // The user's dated tasks in the loaded months; see loadMonths
+    public static ObservableList<Todo> getDatedTasks(int userId) {
+        if (userId != datedUserId) {
+            datedUserId = userId;
+            datedTasks.clear();
+            loadedMonths.clear();
+            monthLoadedAt.clear();
+            monthsLoading.clear();
+        }
+        return datedTasks;
+    }
+
+    public static ObservableSet<YearMonth> getLoadedMonths() {
+        return loadedMonths;
+    }
+
+    // Make sure the month on screen and the one either side are loaded (or refreshed if stale),
+    // then prefetch one month further each way. Each month is read by its own date-range query.
+    public static void loadMonths(int userId, YearMonth month) {
+        getDatedTasks(userId);
+        long now = System.currentTimeMillis();
+        for (int offset = -1; offset <= 1; offset++) {
+            YearMonth visible = month.plusMonths(offset);
+            Long loadedAt = monthLoadedAt.get(visible); // also marks it recently used
+            if (loadedAt == null || now - loadedAt > STALE_AFTER_MILLIS) {
+                loadMonth(userId, visible);
+            }
+        }
+        for (YearMonth prefetch : List.of(month.minusMonths(2), month.plusMonths(2))) {
+            if (!monthLoadedAt.containsKey(prefetch)) {
+                loadMonth(userId, prefetch);
+            }
+        }
+        evictMonths(month);
+    }
+
+    private static void loadMonth(int userId, YearMonth month) {
+        if (!monthsLoading.add(month)) {
+            return; // already on its way
+        }
+        int changesAtStart = changeCount;
+        BackgroundLoader.load("tasks for " + month, () -> {
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                return loadDated(conn, userId, month);
+            }
+        }, loaded -> {
+            if (userId != datedUserId || !monthsLoading.remove(month)) {
+                return; // another user since, or the cache was reset
+            }
+            if (changeCount != changesAtStart) {
+                loadMonth(userId, month); // a task changed meanwhile; read again rather than guess
+                return;
+            }
+            // Tasks added on screen whose INSERT hasn't run yet aren't in the result
+            for (Todo todo : datedTasks) {
+                if (!todo.isSaved() && YearMonth.from(todo.getDue()).equals(month)) {
+                    loaded.add(todo);
+                }
+            }
+            List<Todo> old = new ArrayList<>();
+            for (Todo todo : datedTasks) {
+                if (YearMonth.from(todo.getDue()).equals(month)) {
+                    old.add(todo);
+                }
+            }
+            if (!sameRows(old, loaded)) { // a refresh that found nothing new changes nothing
+                datedTasks.removeAll(old);
+                datedTasks.addAll(loaded);
+            }
+            monthLoadedAt.put(month, System.currentTimeMillis());
+            loadedMonths.add(month);
+        }, error -> {
+            monthsLoading.remove(month);
+            System.err.println("Error loading tasks for " + month + ": " + error.getMessage());
+            error.printStackTrace();
+        });
+    }
+
+    // Drop the least recently viewed months beyond MONTHS_CACHED, never the ones around the current month
+    private static void evictMonths(YearMonth current) {
+        Iterator<YearMonth> months = monthLoadedAt.keySet().iterator();
+        while (monthLoadedAt.size() > MONTHS_CACHED && months.hasNext()) {
+            YearMonth month = months.next();
+            if (Math.abs(current.until(month, java.time.temporal.ChronoUnit.MONTHS)) <= 2) {
+                continue;
+            }
+            months.remove();
+            loadedMonths.remove(month);
+            datedTasks.removeIf(t -> YearMonth.from(t.getDue()).equals(month));
+        }
+    }
+
+    private static boolean sameRows(List<Todo> old, List<Todo> loaded) {
+        if (old.size() != loaded.size()) {
+            return false;
+        }
+        Map<String, Todo> byId = new HashMap<>();
+        for (Todo todo : old) {
+            byId.put(todo.getId(), todo);
+        }
+        for (Todo todo : loaded) {
+            Todo before = byId.get(todo.getId());
+            if (before == null || (before != todo && !before.sameAs(todo))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isMonthLoaded(Todo todo) {
+        return monthLoadedAt.containsKey(YearMonth.from(todo.getDue()));
+    }
+
+    // A task was added or edited on screen (or the edit was undone); FX thread
+    public static void changed(Todo todo) {
+        changeCount++;
+        int index = indexInDated(todo);
+        if (todo.getDueDate() == null) {
+            if (index >= 0) {
+                datedTasks.remove(index);
+            }
+        } else if (index >= 0) {
+            datedTasks.set(index, todo); // fires an update even when it is the same object
+        } else if (isMonthLoaded(todo)) {
+            datedTasks.add(todo); // otherwise it is read with its month
+        }
+    }
+
+    // A task was deleted on screen; FX thread
+    public static void removed(Todo todo) {
+        changeCount++;
+        int index = indexInDated(todo);
+        if (index >= 0) {
+            datedTasks.remove(index);
+        }
+    }
+
+    // The same object, or the same saved row loaded by someone else
+    private static int indexInDated(Todo todo) {
+        for (int i = 0; i < datedTasks.size(); i++) {
+            Todo other = datedTasks.get(i);
+            if (other == todo || (todo.isSaved() && todo.getId().equals(other.getId()))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ---- Reads --------------------------------------------------------------------------
+
+    // One month of dated tasks; a range on due_date so IX_ToDoTasks_User_DueDate is used
+    private static List<Todo> loadDated(Connection conn, int userId, YearMonth month) throws SQLException {
+        ensureIndexes(conn);
+        try (PreparedStatement ps = conn.prepareStatement(
+                SELECT_COLUMNS + "WHERE user_id = ? AND due_date >= ? AND due_date < ? ORDER BY due_date")) {
+            ps.setInt(1, userId);
+            ps.setDate(2, Date.valueOf(month.atDay(1)));
+            ps.setDate(3, Date.valueOf(month.plusMonths(1).atDay(1)));
+            return readTodos(ps);
+        }
+    }
+
+    // One page of the user's tasks matching the filters, in list order
+    public static List<Todo> query(Connection conn, int userId, TodoQuery query, int offset, int limit)
+            throws SQLException {
+        ensureIndexes(conn);
+
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS + "WHERE user_id = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(userId);
+
+        if (query.getCompleted() != null) {
+            sql.append(" AND is_completed = ?");
+            params.add(query.getCompleted());
+        }
+        if (query.getPriority() != null) {
+            sql.append(" AND priority = ?");
+            params.add(capitalize(query.getPriority()));
+        }
+        if (query.getDueFrom() != null) {
+            sql.append(" AND due_date >= ?");
+            params.add(Date.valueOf(query.getDueFrom()));
+        }
+        if (query.getDueTo() != null) {
+            sql.append(" AND due_date <= ?");
+            params.add(Date.valueOf(query.getDueTo()));
+        }
+        List<String> words = query.getWords();
+        if (!words.isEmpty()) {
+            if (fullTextReady) {
+                // Prefix match on every word: "buy*" AND "milk*"
+                List<String> terms = new ArrayList<>();
+                for (String word : words) {
+                    terms.add("\"" + word + "*\"");
+                }
+                sql.append(" AND CONTAINS(description, ?)");
+                params.add(String.join(" AND ", terms));
+            } else {
+                for (String word : words) {
+                    sql.append(" AND description LIKE ?");
+                    params.add("%" + word + "%"); // words only hold letters and digits, nothing to escape
+                }
+            }
+        }
+        sql.append(" ORDER BY sort_order ASC, task_id ASC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+        params.add(offset);
+        params.add(limit);
+
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return readTodos(ps);
+        }
+    }
+
+    private static List<Todo> readTodos(PreparedStatement ps) throws SQLException {
+        List<Todo> todos = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                Todo todo = new Todo(
+                        String.valueOf(rs.getInt("task_id")),
+                        rs.getString("description"),
+                        rs.getBoolean("is_completed"),
+                        rs.getString("priority").toLowerCase(),
+                        rs.getDate("due_date") != null ? rs.getDate("due_date").toLocalDate().toString() : null
+                );
+                todo.setSortOrder(rs.getInt("sort_order"));
+                todos.add(todo);
+            }
+        }
+        return todos;
+    }
+
+    // Highest sort_order of the user, or one gap below zero when there are no tasks
+    static int lastRank(Connection conn, int userId, int gap) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT COALESCE(MAX(sort_order), -?) FROM ToDoTasks WHERE user_id = ?")) {
+            ps.setInt(1, gap);
+            ps.setInt(2, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    static Integer rankOf(Connection conn, Todo todo) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT sort_order FROM ToDoTasks WHERE task_id = ?")) {
+            ps.setInt(1, Integer.parseInt(todo.getId()));
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : null;
+            }
+        }
+    }
+
+    private static void ensureIndexes(Connection conn) throws SQLException {
+        if (indexesReady) return;
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_INDEXES_SQL);
+        } catch (SQLException e) {
+            // A login without index rights still gets its tasks, just without the covering indexes
+            System.err.println("Task indexes not created, see README to add them: " + e.getMessage());
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_FULL_TEXT_SQL);
+        } catch (SQLException e) {
+            System.err.println("Full-text index not available, task search uses LIKE: " + e.getMessage());
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT COUNT(*) FROM sys.fulltext_indexes WHERE object_id = OBJECT_ID('ToDoTasks')")) {
+            fullTextReady = rs.next() && rs.getInt(1) > 0;
+        }
+        indexesReady = true;
+    }
+
+    // ---- Writes (on the caller's connection, normally the to-do writer thread) ----------
+
+    // Inserts the task and fills in its task_id; false if no key came back
+    static boolean insert(Connection conn, int userId, Todo todo) throws SQLException {
+        String sql = """
+            INSERT INTO ToDoTasks (user_id, description, priority, due_date, is_completed, sort_order)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+        try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setInt(1, userId);
+            ps.setString(2, todo.getText());
+            ps.setString(3, capitalize(todo.getPriority()));
+            ps.setDate(4, todo.getDueDate() != null ? Date.valueOf(todo.getDueDate()) : null);
+            ps.setBoolean(5, todo.isCompleted());
+            ps.setInt(6, todo.getSortOrder());
+            ps.executeUpdate();
+
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    return false;
+                }
+                todo.setId(String.valueOf(keys.getInt(1)));
+            }
+        }
+        DailyActivityService.increment(conn, userId, DailyActivityService.Counter.TASKS_CREATED);
+        DataChanges.publish(DataChanges.Type.TASKS);
+        return true;
+    }
+
+    static void setCompleted(Connection conn, int userId, Todo todo, boolean completed) throws SQLException {
+        String sql = "UPDATE ToDoTasks SET is_completed = ?, completed_at = ? WHERE task_id = ? AND is_completed <> ?";
+        int taskId = Integer.parseInt(todo.getId());
+        if (!completed) {
+            // Must run while completed_at still points at the day it was counted on
+            DailyActivityService.revertTaskCompletion(conn, userId, taskId);
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setBoolean(1, completed);
+            ps.setTimestamp(2, completed ? Timestamp.valueOf(java.time.LocalDateTime.now()) : null);
+            ps.setInt(3, taskId);
+            ps.setBoolean(4, completed);
+            int changed = ps.executeUpdate();
+
+            if (changed > 0 && completed) {
+                DailyActivityService.increment(conn, userId, DailyActivityService.Counter.TASKS_COMPLETED);
+            }
+            if (changed > 0) {
+                DataChanges.publish(DataChanges.Type.TASKS);
+            }
+        }
+    }
+
+    static void delete(Connection conn, Todo todo) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("DELETE FROM ToDoTasks WHERE task_id = ?")) {
+            ps.setInt(1, Integer.parseInt(todo.getId()));
+            if (ps.executeUpdate() > 0) {
+                DataChanges.publish(DataChanges.Type.TASKS);
+            }
+        }
+    }
+
+    static void setRank(Connection conn, int userId, Todo todo, int rank) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "UPDATE ToDoTasks SET sort_order = ? WHERE task_id = ? AND user_id = ?")) {
+            ps.setInt(1, rank);
+            ps.setInt(2, Integer.parseInt(todo.getId()));
+            ps.setInt(3, userId);
+            ps.executeUpdate();
+        }
+    }
+
+    // Ranks become 0, gap, 2*gap, ... in their stored order
+    static void respace(Connection conn, int userId, int gap) throws SQLException {
+        String sql = """
+            WITH ranked AS (
+                SELECT sort_order, ROW_NUMBER() OVER (ORDER BY sort_order, task_id) - 1 AS position
+                FROM ToDoTasks WHERE user_id = ?
+            )
+            UPDATE ranked SET sort_order = position * ?
+            """;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, userId);
+            ps.setInt(2, gap);
+            ps.executeUpdate();
+        }
+    }
+
+    private static String capitalize(String priority) {
+        return priority.substring(0, 1).toUpperCase() + priority.substring(1);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.Evora.ToDoList;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+// One row of ToDoTasks, shared by the to-do list and the calendar
+public class Todo implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String text, priority, dueDate;
+    private volatile String id; // "" until the INSERT has returned its task_id
+    private boolean completed;
+    private volatile int sortOrder; // sparse rank, see TodoController.RANK_GAP
+    private transient LocalDate due; // dueDate parsed once, on first use
+
+    public Todo(String id, String text, boolean completed, String priority, String dueDate) {
+        this.id = id;
+        this.text = text;
+        this.completed = completed;
+        this.priority = priority;
+        this.dueDate = dueDate;
+    }
+
+    public String getId() { return id; }
+    void setId(String id) { this.id = id; }
+    public boolean isSaved() { return !id.isEmpty(); }
+    int getSortOrder() { return sortOrder; }
+    void setSortOrder(int sortOrder) { this.sortOrder = sortOrder; }
+
+    boolean sameAs(Todo other) {
+        return completed == other.completed && sortOrder == other.sortOrder && text.equals(other.text)
+                && priority.equals(other.priority) && Objects.equals(dueDate, other.dueDate);
+    }
+    public String getText() { return text; }
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+    public String getPriority() { return priority; }
+    public String getDueDate() { return dueDate; }
+
+    // The due date as a LocalDate, or null; parsed once
+    public LocalDate getDue() {
+        if (due == null && dueDate != null) {
+            due = LocalDate.parse(dueDate);
+        }
+        return due;
+    }
+}
@@ -2,183 +2,426 @@
 package com.example.Evora.ToDoList;
 
 import com.example.Evora.Database.DatabaseConnection;
+import com.example.Evora.Loading.BackgroundLoader;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.scene.input.DataFormat;
 
-import java.io.Serializable;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Holds the tasks on screen in memory and changes them optimistically: add, toggle, delete and
+ * reorder update the list straight away and the matching SQL runs afterwards on a single
+ * writer thread, in the order the changes were made. If a write fails the change is undone
+ * (or, for a reorder, the list is reloaded). The list is observable, so the view follows it.
+ *
+ * Tasks are loaded a page at a time for the current {@link TodoQuery}; the view asks for the
+ * next page when it scrolls near the end. The SQL itself lives in {@link TaskRepository}, which
+ * is also told about every change so the calendar stays in step.
+ */
 public class TodoController {
-    private Connection conn;
     private int currentUserId;
-    private List<Todo> todos;
+    private final ObservableList<Todo> todos = FXCollections.observableArrayList(); // only touched on the FX thread
 
     public static final DataFormat TODO_FORMAT = new DataFormat("application/x-todo-object");
+    public static final int PAGE_SIZE = 50;
+
+    // One thread for every task write so a toggle or delete never overtakes the insert it depends on
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "evora-task-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Tasks are ranked 0, 1024, 2048, ... so a moved task can take a value between its neighbours
+    // and only its own row changes. When two neighbours are 1 apart the ranks are re-spaced.
+    private static final int RANK_GAP = 1024;
+
+    // How long exit waits for task writes still queued before giving up on them
+    private static final long FLUSH_TIMEOUT_SECONDS = 5;
+
+    private interface Write {
+        boolean run(Connection conn) throws SQLException;
+    }
+
+    // Paging state for the current query (FX thread)
+    private TodoQuery query = new TodoQuery();
+    private int generation = 0;      // bumped on every new query so stale pages are dropped
+    private int serverOffset = 0;    // rows of the current query consumed from the database
+    private boolean hasMore = true;
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(false);
+    // Tasks added here that sort after rows not loaded yet; they stay at the end until those arrive
+    private final Set<Todo> addedPastLoaded = Collections.newSetFromMap(new IdentityHashMap<>());
+    private Integer lastRank; // highest sort_order of the user, once known
 
     public TodoController(int userId) {
-        connectToDatabase();
         this.currentUserId = userId;
-        this.todos = getTodos(currentUserId);
+        // Nothing is loaded yet: the view calls loadNextPage()
     }
 
-    private void connectToDatabase() {
-        try {
-            conn = DatabaseConnection.getConnection();
-            System.out.println("Connected to EvoraDB!");
-        } catch (SQLException e) {
-            System.out.println("DB Connection failed: " + e.getMessage());
-            e.printStackTrace();
-        }
+    // Show tasks matching a new set of filters, starting again from the first page
+    public void setQuery(TodoQuery query) {
+        this.query = query;
+        generation++;
+        serverOffset = 0;
+        hasMore = true;
+        loading.set(false);
+        addedPastLoaded.clear();
+        todos.clear();
+        loadNextPage();
     }
 
-    private boolean isConnected() {
-        try {
-            return conn != null && !conn.isClosed();
-        } catch (SQLException e) {
-            return false;
-        }
-    }
-
-    public List<Todo> getTodos(int userId) {
-        List<Todo> todos = new ArrayList<>();
-        if (!isConnected()) return todos;
-
-        String sql = """
-        SELECT task_id, description, priority, due_date, is_completed 
-        FROM ToDoTasks 
-        WHERE user_id = ? 
-        ORDER BY sort_order ASC, task_id ASC
-        """;
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, userId);
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                todos.add(new Todo(
-                        String.valueOf(rs.getInt("task_id")),
-                        rs.getString("description"),
-                        rs.getBoolean("is_completed"),
-                        rs.getString("priority").toLowerCase(),
-                        rs.getDate("due_date") != null ? rs.getDate("due_date").toLocalDate().toString() : null
-                ));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+    public TodoQuery getQuery() {
+        return query;
+    }
+
+    // Append the next page of the current query, unless one is already on its way
+    public void loadNextPage() {
+        if (loading.get() || !hasMore) {
+            return;
         }
-        return todos;
+        loading.set(true);
+        int pageGeneration = generation;
+        TodoQuery pageQuery = query;
+        int offset = serverOffset;
+        boolean needLastRank = lastRank == null;
+
+        BackgroundLoader.load("tasks page", () -> {
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                Page page = new Page();
+                page.todos = TaskRepository.query(conn, currentUserId, pageQuery, offset, PAGE_SIZE);
+                if (needLastRank) {
+                    page.lastRank = TaskRepository.lastRank(conn, currentUserId, RANK_GAP);
+                }
+                return page;
+            }
+        }, page -> {
+            if (pageGeneration != generation) {
+                return; // the filters changed while this page was loading
+            }
+            loading.set(false);
+            if (page.lastRank != null && lastRank == null) {
+                lastRank = page.lastRank;
+            }
+            serverOffset += page.todos.size();
+            hasMore = page.todos.size() == PAGE_SIZE;
+            appendPage(page.todos);
+        }, error -> {
+            if (pageGeneration == generation) {
+                loading.set(false);
+            }
+            System.err.println("Error loading tasks: " + error.getMessage());
+            error.printStackTrace();
+        });
+    }
+
+    public boolean hasMorePages() {
+        return hasMore;
     }
 
-    public void updateTaskOrder(int userId, List<Todo> todos) {
-        if (!isConnected()) return;
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
 
-        String sql = "UPDATE ToDoTasks SET sort_order = ? WHERE task_id = ? AND user_id = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            for (int i = 0; i < todos.size(); i++) {
-                ps.setInt(1, i); // sort_order = position
-                ps.setInt(2, Integer.parseInt(todos.get(i).getId()));
-                ps.setInt(3, userId);
-                ps.addBatch();
+    // New rows go before tasks added locally past the loaded range; rows already shown are skipped
+    private void appendPage(List<Todo> page) {
+        Set<String> shown = new HashSet<>();
+        for (Todo todo : todos) {
+            shown.add(todo.getId());
+        }
+        List<Todo> fresh = new ArrayList<>();
+        for (Todo todo : page) {
+            if (!shown.contains(todo.getId())) {
+                fresh.add(todo);
             }
-            ps.executeBatch();
-            System.out.println("Task order saved to DB!");
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
+        todos.addAll(tailStart(), fresh);
+        if (!hasMore) {
+            addedPastLoaded.clear(); // everything is loaded, so they are in their real place now
+        }
+    }
+
+    private int tailStart() {
+        int start = todos.size();
+        while (start > 0 && addedPastLoaded.contains(todos.get(start - 1))) {
+            start--;
+        }
+        return start;
+    }
+
+    // Move a task within the list (drag and drop); normally only the moved row is written
+    public void moveTodo(int fromIndex, int toIndex) {
+        Todo moved = todos.remove(fromIndex);
+        todos.add(toIndex, moved);
+        addedPastLoaded.remove(moved);
+
+        Todo previous = toIndex > 0 ? todos.get(toIndex - 1) : null;
+        Todo next = toIndex < todos.size() - 1 ? todos.get(toIndex + 1) : null;
+        if (previous == null && next == null) {
+            return; // the only task
+        }
+        long before = previous != null ? previous.getSortOrder() : next.getSortOrder() - 2L * RANK_GAP;
+        long after = next != null ? next.getSortOrder() : previous.getSortOrder() + 2L * RANK_GAP;
+
+        long rank = before + (after - before) / 2;
+        if (rank <= before || rank >= after || rank < Integer.MIN_VALUE || rank > Integer.MAX_VALUE) {
+            respaceAndPlace(moved, previous, next); // no room left between the neighbours
+            return;
+        }
+        moved.setSortOrder((int) rank);
+        if (lastRank != null && rank > lastRank) {
+            lastRank = (int) rank;
+        }
+        write("saving task order", conn -> {
+            if (!moved.isSaved()) {
+                return true; // its insert failed and is being rolled back
+            }
+            TaskRepository.setRank(conn, currentUserId, moved, (int) rank);
+            return true;
+        }, this::reloadTodos);
     }
 
+    // Re-space all of the user's ranks in the database (in their stored order), put the moved
+    // task between its neighbours' new ranks, then reload what is on screen
+    private void respaceAndPlace(Todo moved, Todo previous, Todo next) {
+        System.out.println("Re-spacing task sort order for user " + currentUserId);
+        write("re-spacing task order", conn -> {
+            TaskRepository.respace(conn, currentUserId, RANK_GAP);
+
+            Integer before = previous != null && previous.isSaved() ? TaskRepository.rankOf(conn, previous) : null;
+            Integer after = next != null && next.isSaved() ? TaskRepository.rankOf(conn, next) : null;
+            int rank;
+            if (before != null && after != null) {
+                rank = before + (after - before) / 2;
+            } else if (before != null) {
+                rank = before + RANK_GAP;
+            } else if (after != null) {
+                rank = after - RANK_GAP;
+            } else {
+                rank = 0;
+            }
+            if (moved.isSaved()) {
+                TaskRepository.setRank(conn, currentUserId, moved, rank);
+            }
+            int newLastRank = TaskRepository.lastRank(conn, currentUserId, RANK_GAP);
+            Platform.runLater(() -> lastRank = newLastRank);
+            reloadTodos();
+            return true;
+        }, this::reloadTodos);
+    }
+
+    // Adds the task at the end of the user's list; its task_id is filled in once the INSERT has run
     public void addTodo(int userId, Todo todo) {
-        if (!isConnected()) return;
-        String sql = """
-        INSERT INTO ToDoTasks (user_id, description, priority, due_date, is_completed, sort_order)
-        VALUES (?, ?, ?, ?, ?, (SELECT COALESCE(MAX(sort_order), -1) + 1 FROM ToDoTasks WHERE user_id = ?))
-        """;
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, userId);
-            ps.setString(2, todo.getText());
-            ps.setString(3, todo.getPriority().substring(0,1).toUpperCase() + todo.getPriority().substring(1));
-            ps.setDate(4, todo.getDueDate() != null ? Date.valueOf(todo.getDueDate()) : null);
-            ps.setBoolean(5, todo.isCompleted());
-            ps.setInt(6, userId);
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
-
-    public void updateTodo(Todo todo) {
-        String sql = "UPDATE ToDoTasks SET is_completed = ?, completed_at = ? WHERE task_id = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setBoolean(1, todo.isCompleted());
-            ps.setTimestamp(2, todo.isCompleted() ? Timestamp.valueOf(java.time.LocalDateTime.now()) : null);
-            ps.setInt(3, Integer.parseInt(todo.getId()));
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
-
-    public void deleteTodo(String taskId) {
-        String sql = "DELETE FROM ToDoTasks WHERE task_id = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, Integer.parseInt(taskId));
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
-
-    public List<Todo> getTodos() {
-        return todos;
+        Integer rank = null;
+        if (lastRank != null && lastRank <= Integer.MAX_VALUE - RANK_GAP) {
+            rank = lastRank + RANK_GAP;
+            lastRank = rank;
+            todo.setSortOrder(rank);
+        }
+        if (query.matches(todo)) {
+            todos.add(todo);
+            if (hasMore) {
+                addedPastLoaded.add(todo);
+            }
+        }
+        TaskRepository.changed(todo);
+
+        Integer knownRank = rank;
+        write("adding task", conn -> {
+            if (knownRank == null) {
+                // Not known yet, or about to overflow: work it out here (rare)
+                int insertRank = TaskRepository.lastRank(conn, userId, RANK_GAP) + RANK_GAP;
+                todo.setSortOrder(insertRank);
+                Platform.runLater(() -> lastRank = Math.max(lastRank != null ? lastRank : insertRank, insertRank));
+            }
+            return TaskRepository.insert(conn, userId, todo);
+        }, () -> {
+            todos.remove(todo);
+            addedPastLoaded.remove(todo);
+            TaskRepository.removed(todo);
+        });
     }
 
-    public void setTodos(List<Todo> todos) {
-        this.todos = todos;
+    // Marks the task done or not done at once and saves it afterwards
+    public void updateTodo(Todo todo, boolean completed) {
+        boolean wasCompleted = todo.isCompleted();
+        boolean matchedBefore = query.matches(todo);
+        todo.setCompleted(completed);
+        changed(todo);
+        // A row that stops (or starts) matching the filter shifts where the next page starts
+        trackFilterChange(todo, matchedBefore);
+        write("updating task", conn -> {
+            if (!todo.isSaved()) {
+                return true; // never inserted; the add is being rolled back
+            }
+            TaskRepository.setCompleted(conn, currentUserId, todo, completed);
+            return true;
+        }, () -> {
+            boolean matchedBeforeUndo = query.matches(todo);
+            todo.setCompleted(wasCompleted);
+            changed(todo);
+            trackFilterChange(todo, matchedBeforeUndo);
+        });
     }
 
-    public void incrementUserExperience(int experienceToAdd, int userId) {
-        String sql = "UPDATE Users SET experience = experience + ? WHERE user_id = ?";
+    // Removes the task at once and deletes it afterwards
+    public void deleteTodo(Todo todo) {
+        int index = todos.indexOf(todo);
+        boolean pastLoaded = addedPastLoaded.remove(todo);
+        todos.remove(todo);
+        TaskRepository.removed(todo);
+        if (!pastLoaded && query.matches(todo)) {
+            serverOffset--; // one row fewer before the next page
+        }
+        write("deleting task", conn -> {
+            if (!todo.isSaved()) {
+                return true;
+            }
+            TaskRepository.delete(conn, todo);
+            return true;
+        }, () -> {
+            todos.add(Math.max(0, Math.min(index, todos.size())), todo);
+            TaskRepository.changed(todo);
+            if (pastLoaded) {
+                addedPastLoaded.add(todo);
+            } else if (query.matches(todo)) {
+                serverOffset++;
+            }
+        });
+    }
 
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, experienceToAdd);
-            ps.setInt(2, userId);
+    private void trackFilterChange(Todo todo, boolean matchedBefore) {
+        if (addedPastLoaded.contains(todo)) {
+            return; // not counted in serverOffset
+        }
+        boolean matchesNow = query.matches(todo);
+        if (matchedBefore && !matchesNow) {
+            serverOffset--;
+        } else if (!matchedBefore && matchesNow) {
+            serverOffset++;
+        }
+    }
 
-            int affectedRows = ps.executeUpdate();
-            if (affectedRows > 0) {
-                System.out.println("Added " + experienceToAdd + " experience to user " + userId);
+    // Re-set the task in place so the list view redraws that one row, and tell the calendar
+    private void changed(Todo todo) {
+        int index = todos.indexOf(todo);
+        if (index >= 0) {
+            todos.set(index, todo);
+        }
+        TaskRepository.changed(todo);
+    }
+
+    // Runs a write on the writer thread; if it fails, undo runs on the FX thread
+    private void write(String what, Write write, Runnable undo) {
+        WRITER.execute(() -> {
+            boolean ok;
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                ok = write.run(conn);
+            } catch (SQLException e) {
+                System.err.println("Error " + what + ": " + e.getMessage());
+                e.printStackTrace();
+                ok = false;
+            }
+            if (!ok) {
+                Platform.runLater(undo);
             }
-        } catch (SQLException e) {
-            System.err.println("Error updating user experience: " + e.getMessage());
-            e.printStackTrace();
+        });
+    }
+
+    // Let the task writes still queued finish, on the calling thread; used on exit
+    public static void flushWrites() {
+        WRITER.shutdown();
+        try {
+            if (!WRITER.awaitTermination(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("Task writes still running after " + FLUSH_TIMEOUT_SECONDS + "s, giving up on them");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
+    public ObservableList<Todo> getTodos() {
+        return todos;
+    }
+
     public int getCurrentUserId() {
         return currentUserId;
     }
 
-    public void refreshTodos() {
-        this.todos = getTodos(currentUserId);
+    // Reconcile with the database after a write whose effect can't simply be undone:
+    // the rows loaded so far are queried again and diffed against the list
+    private void reloadTodos() {
+        Platform.runLater(() -> {
+            int reloadGeneration = generation;
+            TodoQuery reloadQuery = query;
+            int count = Math.max(serverOffset, PAGE_SIZE);
+            WRITER.execute(() -> {
+                try (Connection conn = DatabaseConnection.getConnection()) {
+                    List<Todo> loaded = TaskRepository.query(conn, currentUserId, reloadQuery, 0, count);
+                    Platform.runLater(() -> {
+                        if (reloadGeneration == generation) {
+                            serverOffset = loaded.size();
+                            reconcile(loaded);
+                        }
+                    });
+                } catch (SQLException e) {
+                    System.err.println("Error reloading tasks: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            });
+        });
     }
 
-    public static class Todo implements Serializable {
-        private static final long serialVersionUID = 1L;
-
-        private final String id, text, priority, dueDate;
-        private boolean completed;
+    // Keyed diff of a fresh load against the list on screen: tasks that are unchanged keep
+    // their object, and only positions whose task differs fire a change
+    private void reconcile(List<Todo> loaded) {
+        List<Todo> target = new ArrayList<>(loaded);
+        Set<String> loadedIds = new HashSet<>();
+        for (Todo todo : loaded) {
+            loadedIds.add(todo.getId());
+        }
+        for (Todo todo : todos) {
+            if (addedPastLoaded.contains(todo) && !loadedIds.contains(todo.getId())) {
+                target.add(todo); // still past the reloaded range
+            }
+        }
 
-        public Todo(String id, String text, boolean completed, String priority, String dueDate) {
-            this.id = id;
-            this.text = text;
-            this.completed = completed;
-            this.priority = priority;
-            this.dueDate = dueDate;
+        Map<String, Todo> current = new HashMap<>();
+        for (Todo todo : todos) {
+            current.put(todo.getId(), todo);
         }
+        for (int i = 0; i < target.size(); i++) {
+            Todo fresh = target.get(i);
+            Todo existing = current.get(fresh.getId());
+            Todo next = existing != null && existing.sameAs(fresh) ? existing : fresh;
+            if (i >= todos.size()) {
+                todos.add(next);
+            } else if (todos.get(i) != next) {
+                todos.set(i, next);
+            }
+        }
+        if (todos.size() > target.size()) {
+            todos.remove(target.size(), todos.size());
+        }
+        addedPastLoaded.retainAll(target);
+    }
 
-        public String getId() { return id; }
-        public String getText() { return text; }
-        public boolean isCompleted() { return completed; }
-        public void setCompleted(boolean completed) { this.completed = completed; }
-        public String getPriority() { return priority; }
-        public String getDueDate() { return dueDate; }
+    private static class Page {
+        List<Todo> todos;
+        Integer lastRank;
     }
-}
\ No newline at end of file
+}
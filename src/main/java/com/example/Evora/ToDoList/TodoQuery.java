@@ -0,0 +1,85 @@
+package com.example.Evora.ToDoList;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Filters for TaskRepository.query; null/blank means "don't filter on this"
+public class TodoQuery {
+    private Boolean completed;
+    private String priority;
+    private LocalDate dueFrom;
+    private LocalDate dueTo;
+    private String text;
+
+    public TodoQuery completed(Boolean completed) {
+        this.completed = completed;
+        return this;
+    }
+
+    public TodoQuery priority(String priority) {
+        this.priority = priority == null || priority.isBlank() ? null : priority.toLowerCase(Locale.ROOT);
+        return this;
+    }
+
+    public TodoQuery dueBetween(LocalDate from, LocalDate to) {
+        this.dueFrom = from;
+        this.dueTo = to;
+        return this;
+    }
+
+    public TodoQuery text(String text) {
+        this.text = text;
+        return this;
+    }
+
+    public Boolean getCompleted() { return completed; }
+    public String getPriority() { return priority; }
+    public LocalDate getDueFrom() { return dueFrom; }
+    public LocalDate getDueTo() { return dueTo; }
+    public String getText() { return text; }
+
+    public boolean isEmpty() {
+        return completed == null && priority == null && dueFrom == null && dueTo == null && getWords().isEmpty();
+    }
+
+    // The search text split into words; only letters and digits are kept
+    public List<String> getWords() {
+        List<String> words = new ArrayList<>();
+        if (text != null) {
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    // Same test as the SQL, for tasks created locally that haven't been queried
+    public boolean matches(Todo todo) {
+        if (completed != null && todo.isCompleted() != completed) {
+            return false;
+        }
+        if (priority != null && !priority.equals(todo.getPriority())) {
+            return false;
+        }
+        if (dueFrom != null || dueTo != null) {
+            if (todo.getDueDate() == null) {
+                return false;
+            }
+            LocalDate due = LocalDate.parse(todo.getDueDate());
+            if ((dueFrom != null && due.isBefore(dueFrom)) || (dueTo != null && due.isAfter(dueTo))) {
+                return false;
+            }
+        }
+        String description = todo.getText().toLowerCase(Locale.ROOT);
+        for (String word : getWords()) {
+            if (!description.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,13 +1,18 @@
 // src/main/java/com/example/Evora/ToDoList/TodoView.java
 package com.example.Evora.ToDoList;
 
+import com.example.Evora.Pets.ExperienceService;
 import com.example.Evora.Sidebar.Sidebar;
+import com.example.Evora.Sound.SoundEffects;
 import com.example.Evora.Theme.ThemeManager;
 import com.example.Evora.Theme.Theme;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
+import javafx.animation.PauseTransition;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
 import javafx.geometry.*;
 import javafx.scene.Node;
 import javafx.scene.Scene;
@@ -27,22 +32,27 @@ import javafx.scene.SnapshotParameters;
 import org.kordamp.ikonli.javafx.FontIcon;
 import org.kordamp.ikonli.fontawesome6.FontAwesomeSolid;
 
-import javax.sound.sampled.*;
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
-import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Random;
 
 public class TodoView {
 
+    private static final DateTimeFormatter DUE_FORMAT = DateTimeFormatter.ofPattern("MMM d, yyyy");
+
     private Stage stage;
     private TodoController controller;
     private BorderPane root;
     private Scene scene;
     private boolean isFirstShow = true;
-    private VBox todoList;
+    private ListView<Todo> todoList;
+    private ScrollPane mainContent;
+    private Timeline wiggle;
+    private final DoubleProperty wiggleAngle = new SimpleDoubleProperty(0);
+    private int draggedIndex = -1;
+    // Search box input is applied once typing pauses
+    private final PauseTransition searchDebounce = new PauseTransition(Duration.millis(300));
+    private Label emptyMessage;
     private StackPane overlayRoot;
     private int currentUserId;
     private Sidebar sidebar;
@@ -168,16 +178,19 @@ public class TodoView {
         header.setAlignment(Pos.CENTER);
 
         VBox addCard = createAddCard();
+        HBox filterBar = createFilterBar();
         todoList = createTodoList();
 
-        VBox content = new VBox(24, addCard, todoList);
+        VBox content = new VBox(24, addCard, filterBar, todoList);
         content.setAlignment(Pos.TOP_CENTER);
         content.setStyle("-fx-background-color: " + bgColor + ";");
+        VBox.setVgrow(content, Priority.ALWAYS); // the list takes the rest of the height and scrolls itself
 
         main.getChildren().addAll(header, content);
 
         ScrollPane scroll = new ScrollPane(main);
         scroll.setFitToWidth(true);
+        scroll.setFitToHeight(true);
         scroll.setStyle("-fx-background-color: " + bgColor + "; -fx-background: " + bgColor + ";");
         scroll.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
 
@@ -256,310 +269,338 @@ public class TodoView {
     private void addTodo(TextField input, DatePicker datePicker, ChoiceBox<String> priorityBox) {
         String text = input.getText().trim();
         if (!text.isEmpty()) {
-            TodoController.Todo todo = new TodoController.Todo(
+            Todo todo = new Todo(
                     "", text, false,
                     priorityBox.getValue().toLowerCase(),
                     datePicker.getValue() != null ? datePicker.getValue().toString() : null
             );
+            // The list view picks the new task up from the controller's observable list
             controller.addTodo(currentUserId, todo);
-            controller.refreshTodos();
+            if (controller.getTodos().contains(todo)) {
+                todoList.scrollTo(todo); // not there if the filters hide it
+            }
 
             int expToAdd = getAddTaskExperience(priorityBox.getValue().toLowerCase());
-            controller.incrementUserExperience(expToAdd, currentUserId);
-
-            if (sidebar != null) {
-                sidebar.refreshExperienceFromDatabase(currentUserId);
-            }
+            ExperienceService.award(expToAdd);
 
             input.clear();
             datePicker.setValue(null);
             priorityBox.setValue("Medium");
-            refreshTodoList();
         }
     }
 
-    private VBox createTodoList() {
-        VBox list = new VBox(12);
-        list.setAlignment(Pos.TOP_CENTER);
-
+    // Search, status, priority and due-date filters; each change reloads the list from page one
+    private HBox createFilterBar() {
         Theme currentTheme = themeManager.getCurrentTheme();
-        list.setStyle("-fx-background-color: " + currentTheme.getBackgroundColor() + ";");
-
-        List<TodoController.Todo> todos = controller.getTodos();
-        if (todos.isEmpty()) {
-            VBox empty = new VBox(16);
-            empty.setPadding(new Insets(32));
-            empty.setBackground(new Background(new BackgroundFill(
-                    Color.web(currentTheme.getBackgroundColor()),
-                    new CornerRadii(30),
-                    Insets.EMPTY
-            )));
-            empty.setEffect(new DropShadow(20, Color.gray(0, 0.15)));
-            Label msg = new Label("No tasks yet! Add one above to get started");
-            msg.setStyle("-fx-text-fill: #6b7280;");
-            msg.setFont(Font.font("Poppins", 16));
-            empty.getChildren().add(msg);
-            list.getChildren().add(empty);
-        } else {
-            for (TodoController.Todo todo : todos) {
-                list.getChildren().add(createTodoItem(todo));
+        String fieldStyle = "-fx-background-radius: 20; -fx-border-radius: 20; -fx-border-color: #d8b4fe; -fx-background-color: white;";
+        TodoQuery current = controller.getQuery();
+
+        TextField search = new TextField(current.getText());
+        search.setPromptText("Search tasks");
+        search.setStyle(fieldStyle + " -fx-padding: 8 12 8 12;");
+        HBox.setHgrow(search, Priority.ALWAYS);
+
+        ChoiceBox<String> statusBox = new ChoiceBox<>();
+        statusBox.getItems().addAll("All", "Active", "Completed");
+        statusBox.setValue(current.getCompleted() == null ? "All" : current.getCompleted() ? "Completed" : "Active");
+        statusBox.setStyle(fieldStyle);
+
+        ChoiceBox<String> priorityBox = new ChoiceBox<>();
+        priorityBox.getItems().addAll("Any priority", "Low", "Medium", "High");
+        priorityBox.setValue(current.getPriority() == null ? "Any priority"
+                : current.getPriority().substring(0, 1).toUpperCase() + current.getPriority().substring(1));
+        priorityBox.setStyle(fieldStyle);
+
+        DatePicker fromPicker = new DatePicker(current.getDueFrom());
+        fromPicker.setPromptText("Due from");
+        fromPicker.setStyle(fieldStyle);
+        fromPicker.setPrefWidth(150);
+
+        DatePicker toPicker = new DatePicker(current.getDueTo());
+        toPicker.setPromptText("Due to");
+        toPicker.setStyle(fieldStyle);
+        toPicker.setPrefWidth(150);
+
+        Runnable apply = () -> {
+            searchDebounce.stop();
+            String status = statusBox.getValue();
+            String priority = priorityBox.getValue();
+            controller.setQuery(new TodoQuery()
+                    .text(search.getText())
+                    .completed(status.equals("All") ? null : status.equals("Completed"))
+                    .priority(priority.equals("Any priority") ? null : priority)
+                    .dueBetween(fromPicker.getValue(), toPicker.getValue()));
+            if (emptyMessage != null) {
+                emptyMessage.setText(getEmptyText());
             }
-        }
+        };
 
-        enableDragAndDrop(list);
-        return list;
+        searchDebounce.setOnFinished(e -> apply.run());
+        search.textProperty().addListener((obs, old, text) -> searchDebounce.playFromStart());
+        statusBox.setOnAction(e -> apply.run());
+        priorityBox.setOnAction(e -> apply.run());
+        fromPicker.setOnAction(e -> apply.run());
+        toPicker.setOnAction(e -> apply.run());
+
+        Label filterLabel = new Label("Filter");
+        filterLabel.setStyle("-fx-font-weight: 600; -fx-text-fill: " + currentTheme.getTextColor() + "AA;");
+
+        HBox bar = new HBox(12, filterLabel, search, statusBox, priorityBox, fromPicker, toPicker);
+        bar.setAlignment(Pos.CENTER_LEFT);
+        return bar;
     }
 
-    private void enableDragAndDrop(VBox list) {
-        list.getChildren().forEach(node -> {
-            if (node instanceof VBox item) {
-                item.setOnDragDetected(null);
-                item.setOnDragOver(null);
-                item.setOnDragExited(null);
-                item.setOnDragDropped(null);
-                item.setOnDragDone(null);
-
-                item.setOnDragDetected(event -> {
-                    if (list.getChildren().contains(item)) {
-                        Dragboard dragboard = item.startDragAndDrop(TransferMode.MOVE);
-                        ClipboardContent content = new ClipboardContent();
-
-                        int index = list.getChildren().indexOf(item);
-                        TodoController.Todo draggedTodo = controller.getTodos().get(index);
-                        content.put(TodoController.TODO_FORMAT, draggedTodo);
-                        dragboard.setContent(content);
-
-                        SnapshotParameters snapParams = new SnapshotParameters();
-                        snapParams.setFill(Color.TRANSPARENT);
-                        Image snapshot = item.snapshot(snapParams, null);
-                        dragboard.setDragView(snapshot, event.getX(), event.getY());
-                        dragboard.setDragViewOffsetX(event.getX());
-                        dragboard.setDragViewOffsetY(event.getY());
-
-                        item.setOpacity(0.4);
-                        item.setEffect(new DropShadow(30, Color.gray(0, 0.3)));
-
-                        Timeline wiggle = new Timeline(
-                                new KeyFrame(Duration.millis(0),   new KeyValue(item.rotateProperty(), 0)),
-                                new KeyFrame(Duration.millis(80),  new KeyValue(item.rotateProperty(), -6)),
-                                new KeyFrame(Duration.millis(160), new KeyValue(item.rotateProperty(), 6)),
-                                new KeyFrame(Duration.millis(240), new KeyValue(item.rotateProperty(), -4)),
-                                new KeyFrame(Duration.millis(320), new KeyValue(item.rotateProperty(), 4)),
-                                new KeyFrame(Duration.millis(400), new KeyValue(item.rotateProperty(), 0))
-                        );
-                        wiggle.setCycleCount(Timeline.INDEFINITE);
-                        wiggle.play();
-                        item.getProperties().put("wiggle", wiggle);
-
-                        list.getProperties().put("draggedItem", item);
-                        list.getProperties().put("draggedIndex", index);
-
-                        event.consume();
-                    }
-                });
-
-                item.setOnDragOver(event -> {
-                    if (event.getGestureSource() != item && event.getDragboard().hasContent(TodoController.TODO_FORMAT)) {
-                        event.acceptTransferModes(TransferMode.MOVE);
-
-                        String originalStyle = (String) item.getProperties().get("originalStyle");
-                        if (originalStyle == null) {
-                            originalStyle = item.getStyle();
-                            item.getProperties().put("originalStyle", originalStyle);
-                        }
-
-                        item.setStyle(originalStyle + "-fx-border-color: #a78bfa; -fx-border-width: 2; -fx-border-radius: 26;");
-                    }
-                    event.consume();
-                });
-
-                item.setOnDragExited(event -> {
-                    String originalStyle = (String) item.getProperties().get("originalStyle");
-                    if (originalStyle != null) {
-                        item.setStyle(originalStyle);
-                    }
-                    event.consume();
-                });
-
-                item.setOnDragDropped(event -> {
-                    Dragboard dragboard = event.getDragboard();
-                    boolean success = false;
-
-                    if (dragboard.hasContent(TodoController.TODO_FORMAT) && list.getChildren().contains(item)) {
-                        TodoController.Todo draggedTodo = (TodoController.Todo) dragboard.getContent(TodoController.TODO_FORMAT);
-                        int targetIndex = list.getChildren().indexOf(item);
-                        Integer sourceIndex = (Integer) list.getProperties().get("draggedIndex");
-
-                        if (sourceIndex != null && sourceIndex != targetIndex) {
-                            VBox draggedItem = (VBox) list.getProperties().get("draggedItem");
-
-                            if (draggedItem != null) {
-                                List<TodoController.Todo> currentTodos = controller.getTodos();
-
-                                list.getChildren().remove(sourceIndex.intValue());
-                                currentTodos.remove(sourceIndex.intValue());
-
-                                int insertionIndex;
-                                if (sourceIndex < targetIndex) {
-                                    insertionIndex = targetIndex - 1;
-                                } else {
-                                    insertionIndex = targetIndex;
-                                }
-
-                                list.getChildren().add(insertionIndex, draggedItem);
-                                currentTodos.add(insertionIndex, draggedTodo);
-
-                                if (draggedTodo.isCompleted()) {
-                                    draggedItem.setOpacity(0.6);
-                                    for (Node child : draggedItem.getChildren()) {
-                                        if (child instanceof HBox topRow) {
-                                            for (Node topChild : topRow.getChildren()) {
-                                                if (topChild instanceof Label textLabel) {
-                                                    if (!textLabel.getStyle().contains("-fx-strikethrough: true")) {
-                                                        textLabel.setStyle(textLabel.getStyle() + "-fx-strikethrough: true;");
-                                                    }
-                                                    break;
-                                                }
-                                            }
-                                            break;
-                                        }
-                                    }
-                                } else {
-                                    draggedItem.setOpacity(1.0);
-                                }
-
-                                controller.updateTaskOrder(currentUserId, currentTodos);
-                                success = true;
-                            }
-                        }
-                    }
-
-                    event.setDropCompleted(success);
-                    event.consume();
-                });
-
-                item.setOnDragDone(event -> {
-                    item.setOpacity(1.0);
-                    item.setEffect(null);
-                    item.setRotate(0);
-
-                    Timeline wiggle = (Timeline) item.getProperties().get("wiggle");
-                    if (wiggle != null) {
-                        wiggle.stop();
-                        item.getProperties().remove("wiggle");
-                    }
-
-                    String originalStyle = (String) item.getProperties().get("originalStyle");
-                    if (originalStyle != null) {
-                        item.setStyle(originalStyle);
-                        item.getProperties().remove("originalStyle");
-                    }
-
-                    list.getProperties().remove("draggedItem");
-                    list.getProperties().remove("draggedIndex");
-                    refreshTodoList();
-                    event.consume();
-                });
-            }
-        });
+    // Virtualized: only the rows on screen have cells, and cells are reused while scrolling.
+    // Tasks arrive a page at a time; a cell near the end asks the controller for the next page.
+    private ListView<Todo> createTodoList() {
+        ListView<Todo> list = new ListView<>(controller.getTodos());
+        list.setCellFactory(view -> new TodoCell());
+
+        Label loadingMessage = new Label("Loading tasks…");
+        loadingMessage.setStyle("-fx-text-fill: #6b7280;");
+        loadingMessage.setFont(Font.font("Poppins", 16));
+        VBox emptyBox = createEmptyMessage();
+        list.placeholderProperty().bind(javafx.beans.binding.Bindings
+                .when(controller.loadingProperty())
+                .then((Node) loadingMessage)
+                .otherwise((Node) emptyBox));
+        controller.loadNextPage(); // first page, if nothing is loaded yet
+        list.setFocusTraversable(false);
+        list.setMinHeight(300);
+        VBox.setVgrow(list, Priority.ALWAYS);
+
+        Theme currentTheme = themeManager.getCurrentTheme();
+        list.setStyle("-fx-background-color: " + currentTheme.getBackgroundColor() + "; " +
+                "-fx-background-insets: 0; -fx-padding: 0; -fx-selection-bar: transparent; " +
+                "-fx-selection-bar-non-focused: transparent;");
+
+        // One wiggle animation for the whole list; the row being dragged borrows it
+        wiggle = new Timeline(
+                new KeyFrame(Duration.millis(0),   new KeyValue(wiggleAngle, 0)),
+                new KeyFrame(Duration.millis(80),  new KeyValue(wiggleAngle, -6)),
+                new KeyFrame(Duration.millis(160), new KeyValue(wiggleAngle, 6)),
+                new KeyFrame(Duration.millis(240), new KeyValue(wiggleAngle, -4)),
+                new KeyFrame(Duration.millis(320), new KeyValue(wiggleAngle, 4)),
+                new KeyFrame(Duration.millis(400), new KeyValue(wiggleAngle, 0))
+        );
+        wiggle.setCycleCount(Timeline.INDEFINITE);
+        return list;
     }
 
-    private VBox createTodoItem(TodoController.Todo todo) {
-        VBox item = new VBox(0);
-        item.setPadding(new Insets(8, 12, 8, 12));
-        item.setStyle(getGradientStyle(todo.getPriority()) +
-                "-fx-background-radius: 26; -fx-border-radius: 26; -fx-border-width: 2; " +
-                "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 12, 0, 0, 3);");
-
-        Rectangle clip = new Rectangle();
-        clip.widthProperty().bind(item.widthProperty());
-        clip.heightProperty().bind(item.heightProperty());
-        clip.setArcWidth(52);
-        clip.setArcHeight(52);
-        item.setClip(clip);
-
-        if (todo.isCompleted()) item.setOpacity(0.6);
-
-        CheckBox check = new CheckBox();
-        check.setSelected(todo.isCompleted());
-        check.setStyle("-fx-border-width: 2;");
-
-        Label text = new Label(todo.getText());
-        text.setWrapText(true);
-        text.setMaxWidth(Double.MAX_VALUE);
-        text.setStyle("-fx-text-fill: #1f2937;");
-        text.setFont(Font.font("Poppins", 14));
-        if (todo.isCompleted()) {
-            text.setStyle(text.getStyle() + "-fx-strikethrough: true;");
-        }
+    private String getEmptyText() {
+        return controller.getQuery().isEmpty()
+                ? "No tasks yet! Add one above to get started"
+                : "No tasks match these filters";
+    }
 
-        HBox top = new HBox(10, check, text);
-        top.setAlignment(Pos.CENTER_LEFT);
-        HBox.setHgrow(text, Priority.ALWAYS);
+    private VBox createEmptyMessage() {
+        Theme currentTheme = themeManager.getCurrentTheme();
+        VBox empty = new VBox(16);
+        empty.setPadding(new Insets(32));
+        empty.setMaxHeight(Region.USE_PREF_SIZE);
+        empty.setBackground(new Background(new BackgroundFill(
+                Color.web(currentTheme.getBackgroundColor()),
+                new CornerRadii(30),
+                Insets.EMPTY
+        )));
+        empty.setEffect(new DropShadow(20, Color.gray(0, 0.15)));
+        emptyMessage = new Label(getEmptyText());
+        Label msg = emptyMessage;
+        msg.setStyle("-fx-text-fill: #6b7280;");
+        msg.setFont(Font.font("Poppins", 16));
+        empty.getChildren().add(msg);
+        return empty;
+    }
 
-        Label priority = new Label(todo.getPriority().substring(0, 1).toUpperCase() +
-                todo.getPriority().substring(1));
-        priority.setStyle(getBadgeStyle(todo.getPriority()));
+    /**
+     * One row of the list. The nodes are built once per cell and only re-filled in updateItem
+     * when the cell is given another task (or the same task changed), so a toggle touches a
+     * single cell and scrolling allocates nothing.
+     */
+    private class TodoCell extends ListCell<Todo> {
+        private final VBox item = new VBox(0);
+        private final CheckBox check = new CheckBox();
+        private final Label text = new Label();
+        private final Label priority = new Label();
+        private final Label date = new Label();
+        private final HBox due = new HBox(6);
+        private final HBox badges = new HBox(6, priority);
+
+        TodoCell() {
+            setPrefWidth(0); // let the label wrap instead of widening the list
+            setPadding(new Insets(6, 0, 6, 0));
+            setStyle("-fx-background-color: transparent;");
+
+            item.setPadding(new Insets(8, 12, 8, 12));
+            Rectangle clip = new Rectangle();
+            clip.widthProperty().bind(item.widthProperty());
+            clip.heightProperty().bind(item.heightProperty());
+            clip.setArcWidth(52);
+            clip.setArcHeight(52);
+            item.setClip(clip);
+
+            check.setStyle("-fx-border-width: 2;");
+
+            text.setWrapText(true);
+            text.setMaxWidth(Double.MAX_VALUE);
+            text.setFont(Font.font("Poppins", 14));
+
+            HBox top = new HBox(10, check, text);
+            top.setAlignment(Pos.CENTER_LEFT);
+            HBox.setHgrow(text, Priority.ALWAYS);
 
-        HBox due = new HBox(6);
-        if (todo.getDueDate() != null) {
             FontIcon cal = new FontIcon(FontAwesomeSolid.CALENDAR);
             cal.setIconSize(12);
             cal.setIconColor(Color.web("#6b7280"));
-            Label date = new Label(LocalDate.parse(todo.getDueDate())
-                    .format(DateTimeFormatter.ofPattern("MMM d, yyyy")));
             date.setStyle("-fx-text-fill: #6b7280;");
             due.getChildren().addAll(cal, date);
-        }
 
-        HBox badges = new HBox(6, priority);
-        if (todo.getDueDate() != null) badges.getChildren().add(due);
-        badges.setAlignment(Pos.CENTER_LEFT);
-        badges.setPadding(new Insets(0));
+            badges.setAlignment(Pos.CENTER_LEFT);
+            badges.setPadding(new Insets(0));
 
-        Button delete = new Button();
-        FontIcon trash = new FontIcon(FontAwesomeSolid.TRASH);
-        trash.setIconSize(16);
-        trash.setIconColor(Color.web("#dc2626"));
-        delete.setGraphic(trash);
-        delete.setStyle("-fx-background-color: transparent; -fx-background-radius: 50; -fx-padding: 8;");
+            Button delete = new Button();
+            FontIcon trash = new FontIcon(FontAwesomeSolid.TRASH);
+            trash.setIconSize(16);
+            trash.setIconColor(Color.web("#dc2626"));
+            delete.setGraphic(trash);
+            delete.setStyle("-fx-background-color: transparent; -fx-background-radius: 50; -fx-padding: 8;");
 
-        HBox actions = new HBox(8, new Region(), delete);
-        actions.setAlignment(Pos.CENTER_RIGHT);
-        HBox.setHgrow(actions.getChildren().get(0), Priority.ALWAYS);
+            HBox actions = new HBox(8, new Region(), delete);
+            actions.setAlignment(Pos.CENTER_RIGHT);
+            HBox.setHgrow(actions.getChildren().get(0), Priority.ALWAYS);
 
-        item.getChildren().addAll(top, badges, actions);
+            item.getChildren().addAll(top, badges, actions);
 
-        check.setOnAction(e -> {
-            boolean wasPreviouslyCompleted = todo.isCompleted();
+            check.setOnAction(e -> {
+                Todo todo = getItem();
+                if (todo == null) {
+                    return;
+                }
+                boolean wasPreviouslyCompleted = todo.isCompleted();
 
-            todo.setCompleted(check.isSelected());
-            controller.updateTodo(todo);
-            controller.refreshTodos();
+                controller.updateTodo(todo, check.isSelected());
 
-            if (check.isSelected() && !wasPreviouslyCompleted) {
-                int expToAdd = getCompleteTaskExperience(todo.getPriority());
-                controller.incrementUserExperience(expToAdd, currentUserId);
+                if (check.isSelected() && !wasPreviouslyCompleted) {
+                    int expToAdd = getCompleteTaskExperience(todo.getPriority());
+                    ExperienceService.award(expToAdd);
+                }
+                if (check.isSelected()) {
+                    showConfetti();
+                    SoundEffects.play(SoundEffects.Effect.CHIME);
+                }
+            });
 
-                if (sidebar != null) {
-                    sidebar.refreshExperienceFromDatabase(currentUserId);
+            delete.setOnAction(e -> {
+                if (getItem() != null) {
+                    controller.deleteTodo(getItem());
                 }
+            });
+
+            enableDragAndDrop();
+        }
+
+        @Override
+        protected void updateItem(Todo todo, boolean empty) {
+            super.updateItem(todo, empty);
+            if (empty || todo == null) {
+                setGraphic(null);
+                return;
+            }
+            if (getIndex() >= controller.getTodos().size() - 10 && controller.hasMorePages()) {
+                // Queued so the list isn't changed in the middle of laying out its cells
+                Platform.runLater(controller::loadNextPage);
             }
 
-            refreshTodoList();
-            if (check.isSelected()) {
-                showConfetti();
-                playChime();
+            item.setStyle(getGradientStyle(todo.getPriority()) +
+                    "-fx-background-radius: 26; -fx-border-radius: 26; -fx-border-width: 2; " +
+                    "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 12, 0, 0, 3);");
+            item.setOpacity(todo.isCompleted() ? 0.6 : 1.0);
+
+            check.setSelected(todo.isCompleted());
+            text.setText(todo.getText());
+            text.setStyle("-fx-text-fill: #1f2937;" + (todo.isCompleted() ? "-fx-strikethrough: true;" : ""));
+
+            priority.setText(todo.getPriority().substring(0, 1).toUpperCase() +
+                    todo.getPriority().substring(1));
+            priority.setStyle(getBadgeStyle(todo.getPriority()));
+
+            if (todo.getDue() != null) {
+                date.setText(todo.getDue().format(DUE_FORMAT)); // parsed once per task, not per cell update
+                if (!badges.getChildren().contains(due)) {
+                    badges.getChildren().add(due);
+                }
+            } else {
+                badges.getChildren().remove(due);
             }
-        });
 
-        delete.setOnAction(e -> {
-            controller.deleteTodo(todo.getId());
-            controller.refreshTodos();
-            refreshTodoList();
-        });
+            setGraphic(item);
+        }
+
+        private void enableDragAndDrop() {
+            setOnDragDetected(event -> {
+                if (isEmpty() || getItem() == null) {
+                    return;
+                }
+                Dragboard dragboard = startDragAndDrop(TransferMode.MOVE);
+                ClipboardContent content = new ClipboardContent();
+                content.put(TodoController.TODO_FORMAT, getItem());
+                dragboard.setContent(content);
+
+                SnapshotParameters snapParams = new SnapshotParameters();
+                snapParams.setFill(Color.TRANSPARENT);
+                Image snapshot = item.snapshot(snapParams, null);
+                dragboard.setDragView(snapshot, event.getX(), event.getY());
+                dragboard.setDragViewOffsetX(event.getX());
+                dragboard.setDragViewOffsetY(event.getY());
+
+                item.setOpacity(0.4);
+                item.setEffect(new DropShadow(30, Color.gray(0, 0.3)));
+                item.rotateProperty().bind(wiggleAngle);
+                wiggle.play();
+
+                draggedIndex = getIndex();
+                event.consume();
+            });
 
-        return item;
+            setOnDragOver(event -> {
+                if (event.getGestureSource() != this && !isEmpty()
+                        && event.getDragboard().hasContent(TodoController.TODO_FORMAT)) {
+                    event.acceptTransferModes(TransferMode.MOVE);
+                    setStyle("-fx-background-color: transparent; -fx-border-color: #a78bfa; " +
+                            "-fx-border-width: 2; -fx-border-radius: 26;");
+                }
+                event.consume();
+            });
+
+            setOnDragExited(event -> {
+                setStyle("-fx-background-color: transparent;");
+                event.consume();
+            });
+
+            setOnDragDropped(event -> {
+                boolean success = false;
+                if (event.getDragboard().hasContent(TodoController.TODO_FORMAT) && !isEmpty()
+                        && draggedIndex >= 0 && draggedIndex != getIndex()) {
+                    int targetIndex = getIndex();
+                    int insertionIndex = draggedIndex < targetIndex ? targetIndex - 1 : targetIndex;
+                    controller.moveTodo(draggedIndex, insertionIndex);
+                    success = true;
+                }
+                event.setDropCompleted(success);
+                event.consume();
+            });
+
+            setOnDragDone(event -> {
+                wiggle.stop();
+                item.rotateProperty().unbind();
+                item.setRotate(0);
+                item.setEffect(null);
+                Todo todo = getItem();
+                item.setOpacity(todo != null && todo.isCompleted() ? 0.6 : 1.0);
+                draggedIndex = -1;
+                event.consume();
+            });
+        }
     }
 
     private String getGradientStyle(String priority) {
@@ -587,41 +628,9 @@ public class TodoView {
                 "-fx-background-radius: 16;";
     }
 
-    private void refreshTodoList() {
-        controller.refreshTodos();
-        todoList.getChildren().clear();
-        Theme currentTheme = themeManager.getCurrentTheme();
-
-        // Ensure background color is maintained
-        todoList.setStyle("-fx-background-color: " + currentTheme.getBackgroundColor() + ";");
-
-        List<TodoController.Todo> todos = controller.getTodos();
-        if (todos.isEmpty()) {
-            VBox empty = new VBox(16);
-            empty.setPadding(new Insets(32));
-            empty.setBackground(new Background(new BackgroundFill(
-                    Color.web(currentTheme.getBackgroundColor()),
-                    new CornerRadii(30),
-                    Insets.EMPTY
-            )));
-            empty.setEffect(new DropShadow(20, Color.gray(0, 0.15)));
-            Label msg = new Label("No tasks yet! Add one above to get started");
-            msg.setStyle("-fx-text-fill: #6b7280;");
-            msg.setFont(Font.font("Poppins", 16));
-            empty.getChildren().add(msg);
-            todoList.getChildren().add(empty);
-        } else {
-            for (TodoController.Todo todo : todos) {
-                todoList.getChildren().add(createTodoItem(todo));
-            }
-        }
-
-        enableDragAndDrop(todoList);
-    }
-
     public void initializeAsComponent() {
-        if (todoList == null) {
-            buildMainContent();
+        if (mainContent == null) {
+            mainContent = buildMainContent();
         }
     }
 
@@ -701,37 +710,9 @@ public class TodoView {
         cleanup.play();
     }
 
-    private void playChime() {
-        try {
-            String soundPath = "/sounds/chime_16bit.wav";
-            InputStream inputStream = getClass().getResourceAsStream(soundPath);
-            if (inputStream == null) {
-                return;
-            }
-
-            byte[] audioBytes = inputStream.readAllBytes();
-            inputStream.close();
-
-            ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(audioBytes);
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(byteArrayInputStream);
-
-            Clip clip = AudioSystem.getClip();
-            clip.open(audioInputStream);
-            clip.start();
-
-            clip.addLineListener(event -> {
-                if (event.getType() == LineEvent.Type.STOP) {
-                    clip.close();
-                }
-            });
-
-        } catch (Exception e) {
-            System.out.println("Could not play chime: " + e.getMessage());
-        }
-    }
-
     public ScrollPane getContent() {
-        return buildMainContent();
+        initializeAsComponent();
+        return mainContent;
     }
 
     private int getAddTaskExperience(String priority) {
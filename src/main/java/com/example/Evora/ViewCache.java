@@ -0,0 +1,122 @@
+package com.example.Evora;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.ScrollPane;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the views of recently visited tabs so switching back to one is a setCenter instead of
+ * a rebuild plus its queries. Entries are evicted least recently used first once there are
+ * more than {@code maxViews} or their scene graphs together exceed {@code maxNodes} nodes
+ * (node count is the memory budget: it is what a JavaFX view's footprint grows with).
+ */
+public class ViewCache {
+
+    // Re-styles a cached view for the current theme without rebuilding it
+    public interface ThemeApplier {
+        void applyTheme();
+    }
+
+    private static class CachedView {
+        final Node content;
+        final ThemeApplier themeApplier; // null: the view has to be rebuilt for a new theme
+        boolean themeStale = false;
+
+        CachedView(Node content, ThemeApplier themeApplier) {
+            this.content = content;
+            this.themeApplier = themeApplier;
+        }
+    }
+
+    private final int maxViews;
+    private final int maxNodes;
+    private final LinkedHashMap<String, CachedView> views = new LinkedHashMap<>(16, 0.75f, true);
+
+    public ViewCache(int maxViews, int maxNodes) {
+        this.maxViews = maxViews;
+        this.maxNodes = maxNodes;
+    }
+
+    // The cached view for a tab (brought up to date with the theme), or null
+    public Node get(String tab) {
+        CachedView cached = views.get(tab);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.themeStale) {
+            cached.themeApplier.applyTheme();
+            cached.themeStale = false;
+        }
+        return cached.content;
+    }
+
+    public void put(String tab, Node content, ThemeApplier themeApplier) {
+        views.put(tab, new CachedView(content, themeApplier));
+        evict(tab);
+    }
+
+    // Drop cached views whose data changed; they are rebuilt on the next visit
+    public void invalidate(String... tabs) {
+        for (String tab : tabs) {
+            if (views.remove(tab) != null) {
+                System.out.println("🗑️ View cache: dropped " + tab);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        views.clear();
+    }
+
+    // Views that can re-style themselves do so when next shown, the rest are dropped
+    public void themeChanged() {
+        Iterator<CachedView> it = views.values().iterator();
+        while (it.hasNext()) {
+            CachedView cached = it.next();
+            if (cached.themeApplier == null) {
+                it.remove();
+            } else {
+                cached.themeStale = true;
+            }
+        }
+    }
+
+    // Evict least recently used views (never the one just shown) until within budget
+    private void evict(String keep) {
+        int totalNodes = 0;
+        for (CachedView cached : views.values()) {
+            totalNodes += countNodes(cached.content);
+        }
+
+        Iterator<Map.Entry<String, CachedView>> it = views.entrySet().iterator();
+        while (it.hasNext() && (views.size() > maxViews || totalNodes > maxNodes)) {
+            Map.Entry<String, CachedView> eldest = it.next();
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            totalNodes -= countNodes(eldest.getValue().content);
+            it.remove();
+            System.out.println("🗑️ View cache: evicted " + eldest.getKey());
+        }
+    }
+
+    private static int countNodes(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        int count = 1;
+        if (node instanceof ScrollPane) {
+            // The content only becomes a child once the skin exists
+            count += countNodes(((ScrollPane) node).getContent());
+        } else if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.Evora.WhiteNoise;
+
+import com.example.Evora.Database.DatabaseConnection;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the white noise mixes users save. A mix is a name plus the volume of each
+ * sound in it, stored as one row with the volumes as "rain=60;coffee=40".
+ */
+public class MixRepository {
+
+    private static volatile boolean schemaReady = false;
+
+    private static final String CREATE_TABLE_SQL = """
+        IF OBJECT_ID('WhiteNoiseMixes', 'U') IS NULL
+        BEGIN
+            CREATE TABLE WhiteNoiseMixes (
+                mix_id INT IDENTITY(1,1) PRIMARY KEY,
+                user_id INT NOT NULL,
+                mix_name NVARCHAR(60) NOT NULL,
+                sound_volumes NVARCHAR(400) NOT NULL,
+                created_at DATETIME2 NOT NULL DEFAULT SYSDATETIME()
+            );
+            CREATE INDEX IX_WhiteNoiseMixes_User ON WhiteNoiseMixes (user_id, created_at);
+        END
+        """;
+
+    private static void ensureSchema(Connection conn) throws SQLException {
+        if (schemaReady) return;
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_TABLE_SQL);
+        }
+        schemaReady = true;
+    }
+
+    // The user's mixes, oldest first
+    public static List<Mix> getMixes(int userId) throws SQLException {
+        List<Mix> mixes = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            ensureSchema(conn);
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT mix_id, mix_name, sound_volumes FROM WhiteNoiseMixes WHERE user_id = ? ORDER BY created_at, mix_id")) {
+                stmt.setInt(1, userId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        mixes.add(new Mix(rs.getInt("mix_id"), rs.getString("mix_name"),
+                                parseVolumes(rs.getString("sound_volumes"))));
+                    }
+                }
+            }
+        }
+        return mixes;
+    }
+
+    public static Mix saveMix(int userId, String name, Map<String, Double> volumes) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            ensureSchema(conn);
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO WhiteNoiseMixes (user_id, mix_name, sound_volumes) VALUES (?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setInt(1, userId);
+                stmt.setString(2, name);
+                stmt.setString(3, formatVolumes(volumes));
+                stmt.executeUpdate();
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    keys.next();
+                    return new Mix(keys.getInt(1), name, new LinkedHashMap<>(volumes));
+                }
+            }
+        }
+    }
+
+    public static void deleteMix(int userId, int mixId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            ensureSchema(conn);
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "DELETE FROM WhiteNoiseMixes WHERE mix_id = ? AND user_id = ?")) {
+                stmt.setInt(1, mixId);
+                stmt.setInt(2, userId);
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    private static String formatVolumes(Map<String, Double> volumes) {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Double> entry : volumes.entrySet()) {
+            if (text.length() > 0) text.append(';');
+            text.append(entry.getKey()).append('=').append(Math.round(entry.getValue()));
+        }
+        return text.toString();
+    }
+
+    // Entries that don't parse are skipped rather than failing the whole list
+    private static Map<String, Double> parseVolumes(String text) {
+        Map<String, Double> volumes = new LinkedHashMap<>();
+        for (String part : text.split(";")) {
+            String[] pair = part.split("=");
+            if (pair.length != 2) continue;
+            try {
+                volumes.put(pair[0].trim(), Double.parseDouble(pair[1].trim()));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return volumes;
+    }
+
+    public static class Mix {
+        private final int id;
+        private final String name;
+        private final Map<String, Double> volumes; // sound id -> volume (0-100)
+
+        public Mix(int id, String name, Map<String, Double> volumes) {
+            this.id = id;
+            this.name = name;
+            this.volumes = Collections.unmodifiableMap(volumes);
+        }
+
+        public int getId() { return id; }
+        public String getName() { return name; }
+        public Map<String, Double> getVolumes() { return volumes; }
+    }
+}
@@ -0,0 +1,549 @@
+package com.example.Evora.WhiteNoise;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays the ambience tracks through one output line. Each playing track has a decoder thread
+ * streaming its file into a ring buffer a little ahead of time; the mixer thread adds blocks from
+ * the rings together with each track's gain and writes the sum to the line. Fades are per-sample
+ * gain ramps done in the mix, not volume animations.
+ *
+ * A track's file is only opened when it is first played and closed once it fades out, and the
+ * line and mixer thread only exist while something is playing, so idle ambiences cost nothing.
+ * The mixer thread never takes a lock or touches a file: the track list is swapped with
+ * compare-and-set, gain changes are handed over the same way, and the rings are single-reader,
+ * single-writer.
+ *
+ * A track can also be pre-warmed (opened and decoded a second ahead without being mixed) so
+ * switching to a mix doesn't have to wait for files to open.
+ */
+public class NoiseMixer {
+
+    // What gets written to the line; tracks in other formats are converted as they're read
+    private static final AudioFormat FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+    private static final int FRAME_BYTES = 4;
+    // Frames mixed per pass (~23 ms); the line holds a few passes so a slow pass doesn't click
+    private static final int BLOCK_FRAMES = 1024;
+    private static final int LINE_BUFFER_BLOCKS = 4;
+    // Ramp for volume slider moves, long enough not to crackle
+    private static final double GAIN_CHANGE_SECONDS = 0.05;
+    // Each playing track is decoded up to a second ahead of the mix
+    private static final int RING_FRAMES = 44100;
+    private static final long DECODER_WAIT_NANOS = 20_000_000;
+    // Tried in this order for each track
+    private static final String[] EXTENSIONS = {".ogg", ".flac", ".wav"};
+    // How long a pre-warmed track waits to be played before it is closed again
+    private static final long WARM_FOR_MILLIS = 15_000;
+
+    private static final AtomicReference<Track[]> tracks = new AtomicReference<>(new Track[0]);
+    private static final AtomicBoolean running = new AtomicBoolean(false);
+    private static volatile float masterGain = 1f;
+
+    // Tracks opened and decoding ahead but not in the mix yet, by id
+    private static final Map<String, Track> warm = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService WARM_EXPIRY = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "evora-noise-prewarm");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Start a track (or bring back one that is fading out), fading from silence up to gain.
+    // name is the resource path without extension, e.g. "/Sounds/rain".
+    public static void play(String id, String name, double gain, double fadeSeconds) {
+        Fade fade = new Fade((float) gain, frames(fadeSeconds), false);
+        Track track = find(id);
+        if (track == null || !track.send(fade)) {
+            Track added = warm.remove(id);
+            if (added == null || !added.name.equals(name)) {
+                if (added != null) {
+                    added.close();
+                }
+                added = new Track(id, name);
+            }
+            added.send(fade);
+            add(added);
+        }
+        if (running.compareAndSet(false, true)) {
+            startThread();
+        }
+    }
+
+    // Whether any of name.ogg, name.flac or name.wav is on the classpath
+    public static boolean hasTrack(String name) {
+        for (String extension : EXTENSIONS) {
+            if (NoiseMixer.class.getResource(name + extension) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Fade a track out and close it once silent
+    public static void stop(String id, double fadeSeconds) {
+        Track track = find(id);
+        if (track != null) {
+            track.send(new Fade(0f, frames(fadeSeconds), true));
+        }
+    }
+
+    // Open a track and start decoding it so a play() soon after starts at once; a track that is
+    // already playing or warm is left alone
+    public static void prewarm(String id, String name) {
+        if (find(id) != null || warm.containsKey(id)) {
+            return;
+        }
+        Track track = new Track(id, name);
+        if (warm.putIfAbsent(id, track) != null) {
+            track.close();
+            return;
+        }
+        WARM_EXPIRY.schedule(() -> {
+            if (warm.remove(id, track)) {
+                track.close();
+            }
+        }, WARM_FOR_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    // Change the gain of a playing track (0..1)
+    public static void setGain(String id, double gain) {
+        setGain(id, gain, GAIN_CHANGE_SECONDS);
+    }
+
+    // Change the gain of a playing track (0..1), ramping over the given time
+    public static void setGain(String id, double gain, double seconds) {
+        Track track = find(id);
+        if (track != null) {
+            track.send(new Fade((float) gain, frames(seconds), false));
+        }
+    }
+
+    // Gain applied to the whole mix (0..1)
+    public static void setMasterGain(double gain) {
+        masterGain = (float) gain;
+    }
+
+    // Cut everything now; the mixer thread closes the tracks and ends on its next pass
+    public static void shutdown() {
+        for (Track track : tracks.get()) {
+            track.send(new Fade(0f, 0, true));
+        }
+        warm.values().forEach(Track::close);
+        warm.clear();
+    }
+
+    private static int frames(double seconds) {
+        return (int) Math.round(seconds * FORMAT.getSampleRate());
+    }
+
+    private static Track find(String id) {
+        for (Track track : tracks.get()) {
+            if (track.id.equals(id) && !track.isFinished()) {
+                return track;
+            }
+        }
+        return null;
+    }
+
+    private static void add(Track track) {
+        Track[] current;
+        Track[] updated;
+        do {
+            current = tracks.get();
+            updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = track;
+        } while (!tracks.compareAndSet(current, updated));
+    }
+
+    private static void remove(Track track) {
+        Track[] current;
+        Track[] updated;
+        do {
+            current = tracks.get();
+            updated = Arrays.stream(current).filter(t -> t != track).toArray(Track[]::new);
+        } while (updated.length != current.length && !tracks.compareAndSet(current, updated));
+    }
+
+    private static void startThread() {
+        Thread thread = new Thread(NoiseMixer::mix, "evora-noise-mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    // ---- Mixer thread ----------------------------------------------------------------------
+
+    private static void mix() {
+        SourceDataLine line = null;
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, BLOCK_FRAMES * FRAME_BYTES * LINE_BUFFER_BLOCKS);
+            line.start();
+
+            float[] sum = new float[BLOCK_FRAMES * 2];
+            byte[] out = new byte[BLOCK_FRAMES * FRAME_BYTES];
+            float master = masterGain;
+
+            while (true) {
+                Track[] current = tracks.get();
+                if (current.length == 0) {
+                    running.set(false);
+                    // Something may have been added between the read and the flag going down
+                    if (tracks.get().length == 0 || !running.compareAndSet(false, true)) {
+                        break;
+                    }
+                    continue;
+                }
+
+                Arrays.fill(sum, 0f);
+                for (Track track : current) {
+                    if (!track.mixInto(sum)) {
+                        remove(track);
+                    }
+                }
+
+                // Master changes are ramped over the block too
+                float targetMaster = masterGain;
+                float masterStep = (targetMaster - master) / BLOCK_FRAMES;
+                for (int frame = 0; frame < BLOCK_FRAMES; frame++) {
+                    float gain = master + masterStep * frame;
+                    for (int channel = 0; channel < 2; channel++) {
+                        float sample = sum[frame * 2 + channel] * gain;
+                        int value = Math.round(Math.max(-1f, Math.min(1f, sample)) * 32767f);
+                        int at = (frame * 2 + channel) * 2;
+                        out[at] = (byte) value;
+                        out[at + 1] = (byte) (value >> 8);
+                    }
+                }
+                master = targetMaster;
+
+                line.write(out, 0, out.length); // blocks until the line has room, which paces the loop
+            }
+            line.drain();
+        } catch (Exception e) {
+            System.err.println("White noise output failed: " + e.getMessage());
+            e.printStackTrace();
+            for (Track track : tracks.getAndSet(new Track[0])) {
+                track.close();
+            }
+            running.set(false);
+        } finally {
+            if (line != null) {
+                line.close();
+            }
+        }
+    }
+
+    // A gain ramp handed from the FX thread to the mixer thread
+    private static class Fade {
+        final float target;
+        final int frames;
+        final boolean stopWhenSilent;
+
+        Fade(float target, int frames, boolean stopWhenSilent) {
+            this.target = target;
+            this.frames = frames;
+            this.stopWhenSilent = stopWhenSilent;
+        }
+    }
+
+    private static class Track {
+        // Put in place of a pending fade once the track has ended; nothing can be sent after it
+        private static final Fade FINISHED = new Fade(0f, 0, true);
+
+        final String id;
+        private final String name;
+        private final AtomicReference<Fade> pending = new AtomicReference<>();
+
+        // Decoded audio waiting to be mixed. The decoder thread only moves written and the mixer
+        // thread only moves read, so neither has to lock.
+        private final byte[] ring = new byte[RING_FRAMES * FRAME_BYTES];
+        private volatile long written = 0;
+        private volatile long read = 0;
+        private volatile boolean closed = false;
+        private volatile boolean failed = false;
+        private final Thread decoder;
+
+        // Mixer thread only
+        private final byte[] buffer = new byte[BLOCK_FRAMES * FRAME_BYTES];
+        private float gain = 0f;
+        private float gainStep = 0f;
+        private float rampTarget = 0f;
+        private int rampLeft = 0;
+        private boolean stopWhenSilent = false;
+
+        Track(String id, String name) {
+            this.id = id;
+            this.name = name;
+            this.decoder = Thread.ofVirtual().name("evora-noise-" + id).start(this::decode);
+        }
+
+        // False if the track has already ended, in which case the caller needs a new one
+        boolean send(Fade fade) {
+            while (true) {
+                Fade current = pending.get();
+                if (current == FINISHED) {
+                    return false;
+                }
+                if (pending.compareAndSet(current, fade)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean isFinished() {
+            return pending.get() == FINISHED;
+        }
+
+        // Add one block of this track to sum; false once it has faded out and closed
+        boolean mixInto(float[] sum) {
+            Fade fade = pending.get();
+            if (fade == FINISHED) {
+                close();
+                return false;
+            }
+            if (fade != null && pending.compareAndSet(fade, null)) {
+                rampTarget = fade.target;
+                rampLeft = fade.frames;
+                gainStep = fade.frames > 0 ? (fade.target - gain) / fade.frames : 0f;
+                stopWhenSilent = fade.stopWhenSilent;
+                if (fade.frames == 0) {
+                    gain = fade.target;
+                }
+            }
+            if (failed) {
+                stopWhenSilent = true;
+                rampLeft = 0;
+                gain = 0f;
+            }
+
+            if (gain > 0f || rampLeft > 0) {
+                take();
+                for (int frame = 0; frame < BLOCK_FRAMES; frame++) {
+                    if (rampLeft > 0) {
+                        gain = --rampLeft == 0 ? rampTarget : gain + gainStep;
+                    }
+                    int at = frame * FRAME_BYTES;
+                    sum[frame * 2] += sample(at) * gain;
+                    sum[frame * 2 + 1] += sample(at + 2) * gain;
+                }
+            }
+
+            if (stopWhenSilent && rampLeft == 0 && gain == 0f && pending.compareAndSet(null, FINISHED)) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        // Move the next block out of the ring; if the decoder has fallen behind, the rest is silence
+        private void take() {
+            long from = read;
+            int count = (int) Math.min(buffer.length, written - from);
+            int start = (int) (from % ring.length);
+            int first = Math.min(count, ring.length - start);
+            System.arraycopy(ring, start, buffer, 0, first);
+            System.arraycopy(ring, 0, buffer, first, count - first);
+            Arrays.fill(buffer, count, buffer.length, (byte) 0);
+            read = from + count;
+        }
+
+        private float sample(int at) {
+            return (short) ((buffer[at] & 0xff) | (buffer[at + 1] << 8)) / 32768f;
+        }
+
+        void close() {
+            closed = true;
+            LockSupport.unpark(decoder);
+        }
+
+        // ---- Decoder thread ----
+
+        // Keep the ring topped up, going back to the start of the file as soon as it ends so the
+        // loop point has no gap
+        private void decode() {
+            byte[] chunk = new byte[BLOCK_FRAMES * FRAME_BYTES];
+            AudioInputStream stream = null;
+            boolean justOpened = false;
+            try {
+                while (!closed) {
+                    if (ring.length - (written - read) < chunk.length) {
+                        LockSupport.parkNanos(DECODER_WAIT_NANOS); // full; the mixer is ~a second behind
+                        continue;
+                    }
+                    if (stream == null) {
+                        stream = open();
+                        justOpened = true;
+                    }
+                    int count = stream.read(chunk, 0, chunk.length);
+                    if (count < 0) {
+                        if (justOpened) {
+                            throw new IOException("no audio in " + name);
+                        }
+                        stream.close();
+                        stream = null;
+                        continue;
+                    }
+                    justOpened = false;
+                    put(chunk, count - count % FRAME_BYTES);
+                }
+            } catch (IOException e) {
+                System.err.println("Error reading " + name + ": " + e.getMessage());
+                e.printStackTrace();
+                failed = true;
+            } finally {
+                if (stream != null) {
+                    try {
+                        stream.close();
+                    } catch (IOException ignored) {
+                    }
+                }
+            }
+        }
+
+        private void put(byte[] chunk, int count) {
+            long to = written;
+            int start = (int) (to % ring.length);
+            int first = Math.min(count, ring.length - start);
+            System.arraycopy(chunk, 0, ring, start, first);
+            System.arraycopy(chunk, first, ring, 0, count - first);
+            written = to + count;
+        }
+
+        // The first of name.ogg, name.flac, name.wav that can be decoded. FLAC is read by jflac
+        // (see pom.xml); .ogg would need a Vorbis decoder such as vorbisspi added the same way.
+        private AudioInputStream open() throws IOException {
+            IOException failure = new IOException("no playable file for " + name);
+            for (String extension : EXTENSIONS) {
+                InputStream in = NoiseMixer.class.getResourceAsStream(name + extension);
+                if (in == null) {
+                    continue;
+                }
+                try {
+                    return toMixFormat(AudioSystem.getAudioInputStream(new BufferedInputStream(in)));
+                } catch (Exception e) {
+                    in.close();
+                    failure.addSuppressed(e);
+                }
+            }
+            throw failure;
+        }
+
+        // Any source becomes 16-bit little-endian PCM at its own rate first; the rate and channel
+        // count are changed by Resampler, not left to whichever converters the JDK ships
+        private static AudioInputStream toMixFormat(AudioInputStream source) {
+            AudioFormat from = source.getFormat();
+            if (from.matches(FORMAT)) {
+                return source;
+            }
+            AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, from.getSampleRate(), 16,
+                    from.getChannels(), from.getChannels() * 2, from.getSampleRate(), false);
+            if (!from.matches(pcm)) {
+                source = AudioSystem.getAudioInputStream(pcm, source);
+                if (source.getFormat().matches(FORMAT)) {
+                    return source;
+                }
+            }
+            return new AudioInputStream(new Resampler(source, from.getChannels(), from.getSampleRate()),
+                    FORMAT, AudioSystem.NOT_SPECIFIED);
+        }
+    }
+
+    // Turns 16-bit little-endian PCM at any rate, mono or stereo, into the mix format by linear
+    // interpolation between neighbouring frames. Good enough for ambience; the decoder thread
+    // runs it, never the mixer.
+    private static class Resampler extends InputStream {
+        private final AudioInputStream source;
+        private final int channels;
+        private final int sourceFrameBytes;
+        private final double step; // source frames per output frame
+
+        private final byte[] in = new byte[BLOCK_FRAMES * 8];
+        private int inStart = 0;
+        private int inEnd = 0;
+
+        // The output frame lies between previous and next, position of the way from one to the other
+        private final int[] previous = new int[2];
+        private final int[] next = new int[2];
+        private double position = 2; // so the first read pulls in two frames
+        private boolean ended = false;
+
+        Resampler(AudioInputStream source, int channels, float sampleRate) {
+            this.source = source;
+            this.channels = channels;
+            this.sourceFrameBytes = channels * 2;
+            this.step = sampleRate / FORMAT.getSampleRate();
+        }
+
+        @Override
+        public int read(byte[] out, int offset, int length) throws IOException {
+            int frames = length / FRAME_BYTES;
+            int done = 0;
+            while (done < frames) {
+                while (position >= 1 && !ended) {
+                    previous[0] = next[0];
+                    previous[1] = next[1];
+                    ended = !readFrame(next);
+                    position -= 1;
+                }
+                if (ended) {
+                    break;
+                }
+                for (int channel = 0; channel < 2; channel++) {
+                    int value = (int) Math.round(previous[channel] + (next[channel] - previous[channel]) * position);
+                    int at = offset + done * FRAME_BYTES + channel * 2;
+                    out[at] = (byte) value;
+                    out[at + 1] = (byte) (value >> 8);
+                }
+                position += step;
+                done++;
+            }
+            return done == 0 && ended ? -1 : done * FRAME_BYTES;
+        }
+
+        // Audio is only read a frame at a time
+        @Override
+        public int read() throws IOException {
+            throw new IOException("read whole frames");
+        }
+
+        @Override
+        public void close() throws IOException {
+            source.close();
+        }
+
+        // The next source frame as left/right samples; mono is copied to both, extra channels dropped
+        private boolean readFrame(int[] frame) throws IOException {
+            if (inEnd - inStart < sourceFrameBytes) {
+                System.arraycopy(in, inStart, in, 0, inEnd - inStart);
+                inEnd -= inStart;
+                inStart = 0;
+                while (inEnd < sourceFrameBytes) {
+                    int count = source.read(in, inEnd, in.length - in.length % sourceFrameBytes - inEnd);
+                    if (count < 0) {
+                        return false;
+                    }
+                    inEnd += count;
+                }
+            }
+            frame[0] = (short) ((in[inStart] & 0xff) | (in[inStart + 1] << 8));
+            frame[1] = channels > 1 ? (short) ((in[inStart + 2] & 0xff) | (in[inStart + 3] << 8)) : frame[0];
+            inStart += sourceFrameBytes;
+            return true;
+        }
+    }
+}
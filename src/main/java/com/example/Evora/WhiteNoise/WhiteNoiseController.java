@@ -1,21 +1,27 @@
 // File: src/main/java/com/example/Evora/WhiteNoise/WhiteNoiseController.java
 package com.example.Evora.WhiteNoise;
 
-import javafx.animation.*;
+import com.example.Evora.Loading.BackgroundLoader;
 import javafx.beans.property.*;
-import javafx.scene.media.Media;
-import javafx.scene.media.MediaPlayer;
-import javafx.util.Duration;
-import java.net.URL;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import java.util.*;
 
 public class WhiteNoiseController {
     // Singleton instance
     private static WhiteNoiseController instance;
 
-    private final Map<String, MediaPlayer> players = new HashMap<>();
+    private static final double FADE_IN_SECONDS = 1.8;
+    private static final double FADE_OUT_SECONDS = 1.0;
+    // Used for every track that changes when switching mixes, so the old and new overlap
+    private static final double CROSS_FADE_SECONDS = 1.5;
+
     private final Map<String, DoubleProperty> volumes = new HashMap<>();
     private final Map<String, BooleanProperty> playing = new HashMap<>();
+    private final Map<String, String> paths = new HashMap<>();
+    private final ObservableList<MixRepository.Mix> savedMixes = FXCollections.observableArrayList();
+    private int userId = -1;
+    private boolean crossFading = false; // set while applyMix is changing the properties
     private final DoubleProperty masterVolume = new SimpleDoubleProperty(70);
 
     // Private constructor for singleton
@@ -56,20 +62,110 @@ public class WhiteNoiseController {
     }
 
     public void setPresetSounds(String[] soundIds, double[] volumes) {
-        // Stop all sounds first
-        playing.values().forEach(isPlaying -> isPlaying.set(false));
-
-        // Start and set volumes for specified sounds
+        Map<String, Double> mix = new LinkedHashMap<>();
         for (int i = 0; i < soundIds.length; i++) {
-            String soundId = soundIds[i];
-            double volume = volumes[i];
+            mix.put(soundIds[i], volumes[i]);
+        }
+        applyMix(mix);
+    }
+
+    // Cross-fade from what is playing to the given sounds/volumes. Sounds already playing at the
+    // right volume are left alone; the rest fade in, out or to their new volume together.
+    public void applyMix(Map<String, Double> mix) {
+        crossFading = true;
+        try {
+            for (Map.Entry<String, BooleanProperty> entry : playing.entrySet()) {
+                if (!mix.containsKey(entry.getKey())) {
+                    entry.getValue().set(false);
+                }
+            }
+            for (Map.Entry<String, Double> entry : mix.entrySet()) {
+                BooleanProperty playingProp = playing.get(entry.getKey());
+                DoubleProperty volumeProp = volumes.get(entry.getKey());
+
+                // Volume first, so a track that starts fades in straight to it
+                if (volumeProp != null) volumeProp.set(entry.getValue());
+                if (playingProp != null) playingProp.set(true);
+            }
+        } finally {
+            crossFading = false;
+        }
+    }
+
+    // Start opening the tracks of a mix that is likely to be picked next (e.g. on hover)
+    public void prewarm(Collection<String> soundIds) {
+        for (String soundId : soundIds) {
+            BooleanProperty isPlaying = playing.get(soundId);
+            String path = paths.get(soundId);
+            if (isPlaying != null && !isPlaying.get() && path != null) {
+                NoiseMixer.prewarm(soundId, path);
+            }
+        }
+    }
+
+    // The sounds playing now and their volumes
+    public Map<String, Double> getCurrentMix() {
+        Map<String, Double> mix = new LinkedHashMap<>();
+        for (Map.Entry<String, BooleanProperty> entry : playing.entrySet()) {
+            if (entry.getValue().get()) {
+                mix.put(entry.getKey(), volumes.get(entry.getKey()).get());
+            }
+        }
+        return mix;
+    }
+
+    // ---- Saved mixes ----
+
+    public ObservableList<MixRepository.Mix> getSavedMixes() {
+        return savedMixes;
+    }
 
-            BooleanProperty playingProp = playing.get(soundId);
-            DoubleProperty volumeProp = this.volumes.get(soundId);
+    // Load the user's saved mixes (once per user)
+    public void loadSavedMixes(int userId) {
+        if (this.userId == userId) {
+            return;
+        }
+        this.userId = userId;
+        savedMixes.clear();
+        BackgroundLoader.load("white noise mixes", () -> MixRepository.getMixes(userId), mixes -> {
+            if (this.userId == userId) {
+                savedMixes.setAll(mixes);
+            }
+        }, error -> {
+            System.err.println("Error loading white noise mixes: " + error.getMessage());
+            error.printStackTrace();
+        });
+    }
 
-            if (playingProp != null) playingProp.set(true);
-            if (volumeProp != null) volumeProp.set(volume);
+    public void saveCurrentMix(String name) {
+        Map<String, Double> mix = getCurrentMix();
+        int user = userId;
+        if (mix.isEmpty() || user < 0) {
+            return;
         }
+        BackgroundLoader.load("save white noise mix", () -> MixRepository.saveMix(user, name, mix), saved -> {
+            if (userId == user) {
+                savedMixes.add(saved);
+            }
+        }, error -> {
+            System.err.println("Error saving white noise mix: " + error.getMessage());
+            error.printStackTrace();
+        });
+    }
+
+    public void deleteMix(MixRepository.Mix mix) {
+        int user = userId;
+        savedMixes.remove(mix);
+        BackgroundLoader.load("delete white noise mix", () -> {
+            MixRepository.deleteMix(user, mix.getId());
+            return null;
+        }, ignored -> {}, error -> {
+            System.err.println("Error deleting white noise mix: " + error.getMessage());
+            error.printStackTrace();
+            if (userId == user) {
+                savedMixes.add(mix); // put it back so the list matches the database
+            }
+        });
     }
 
     public int getPlayingCount() {
@@ -82,84 +178,55 @@ public class WhiteNoiseController {
         return count;
     }
 
+    // Only registers the tracks; a file isn't opened until its track is first played.
+    // Files are named without extension: NoiseMixer plays the .ogg, .flac or .wav it finds.
+    // A missing track is reported once here and its toggle does nothing.
     private void loadAllSounds() {
-        String[] files = {"rain.wav", "coffee_shop.wav", "ocean_waves.wav", "wind.wav", "forest.wav", "piano_ambient.wav"};
+        String[] files = {"rain", "coffee_shop", "ocean_waves", "wind", "forest", "piano_ambient"};
         String[] soundIds = {"rain", "coffee", "waves", "wind", "forest", "piano"};
 
+        masterVolume.addListener((o, ov, nv) -> NoiseMixer.setMasterGain(nv.doubleValue() / 100.0));
+        NoiseMixer.setMasterGain(masterVolume.get() / 100.0);
+
         for (int i = 0; i < soundIds.length; i++) {
             String soundId = soundIds[i];
             String path = "/Sounds/" + files[i];
-            URL url = getClass().getResource(path);
 
-            if (url == null) {
+            DoubleProperty vol = new SimpleDoubleProperty(50);
+            BooleanProperty isPlaying = new SimpleBooleanProperty(false);
+            volumes.put(soundId, vol);
+            playing.put(soundId, isPlaying);
+
+            if (!NoiseMixer.hasTrack(path)) {
                 System.err.println("Missing: " + path);
-                initializeSoundProperties(soundId);
                 continue;
             }
-
-            try {
-                Media media = new Media(url.toExternalForm());
-                MediaPlayer player = new MediaPlayer(media);
-                player.setCycleCount(MediaPlayer.INDEFINITE);
-                player.setVolume(0);
-
-                DoubleProperty vol = new SimpleDoubleProperty(50);
-                BooleanProperty isPlaying = new SimpleBooleanProperty(false);
-
-                // Update volume when individual volume or master volume changes
-                Runnable updateVolume = () -> player.setVolume(vol.get() / 100.0 * masterVolume.get() / 100.0);
-                vol.addListener((o, ov, nv) -> updateVolume.run());
-                masterVolume.addListener((o, ov, nv) -> updateVolume.run());
-
-                // Handle play/pause state changes
-                isPlaying.addListener((o, ov, nv) -> {
-                    if (nv && player != null) {
-                        fadeIn(player, vol.get());
-                    } else if (player != null) {
-                        fadeOutAndPause(player);
+            paths.put(soundId, path);
+
+            // Update the mix when the track's volume changes
+            vol.addListener((o, ov, nv) -> {
+                if (isPlaying.get()) {
+                    if (crossFading) {
+                        NoiseMixer.setGain(soundId, nv.doubleValue() / 100.0, CROSS_FADE_SECONDS);
+                    } else {
+                        NoiseMixer.setGain(soundId, nv.doubleValue() / 100.0);
                     }
-                });
-
-                players.put(soundId, player);
-                volumes.put(soundId, vol);
-                playing.put(soundId, isPlaying);
-
-            } catch (Exception e) {
-                System.err.println("Failed to load sound: " + files[i] + " → " + e.getMessage());
-                initializeSoundProperties(soundId);
-            }
-        }
-    }
-
-    private void initializeSoundProperties(String soundId) {
-        if (!volumes.containsKey(soundId)) {
-            volumes.put(soundId, new SimpleDoubleProperty(50));
+                }
+            });
+
+            // Handle play/pause state changes
+            isPlaying.addListener((o, ov, nv) -> {
+                if (nv) {
+                    NoiseMixer.play(soundId, path, vol.get() / 100.0, crossFading ? CROSS_FADE_SECONDS : FADE_IN_SECONDS);
+                } else {
+                    NoiseMixer.stop(soundId, crossFading ? CROSS_FADE_SECONDS : FADE_OUT_SECONDS);
+                }
+            });
         }
-        if (!playing.containsKey(soundId)) {
-            playing.put(soundId, new SimpleBooleanProperty(false));
-        }
-    }
-
-    private void fadeIn(MediaPlayer player, double target) {
-        if (player == null) return;
-        player.setVolume(0);
-        player.play();
-        Timeline fade = new Timeline(new KeyFrame(Duration.seconds(1.8),
-                new KeyValue(player.volumeProperty(), target / 100.0 * masterVolume.get() / 100.0, Interpolator.EASE_IN)));
-        fade.play();
-    }
-
-    private void fadeOutAndPause(MediaPlayer player) {
-        if (player == null) return;
-        Timeline fade = new Timeline(new KeyFrame(Duration.seconds(1),
-                new KeyValue(player.volumeProperty(), 0, Interpolator.EASE_OUT)));
-        fade.setOnFinished(e -> player.pause());
-        fade.play();
     }
 
     public void cleanup() {
-        players.values().forEach(MediaPlayer::dispose);
-        players.clear();
+        NoiseMixer.shutdown();
         volumes.clear();
         playing.clear();
     }
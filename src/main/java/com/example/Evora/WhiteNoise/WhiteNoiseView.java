@@ -10,6 +10,7 @@ import javafx.animation.ScaleTransition;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
+import javafx.collections.ListChangeListener;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -22,7 +23,9 @@ import javafx.stage.Stage;
 import javafx.util.Duration;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 public class WhiteNoiseView {
     // Singleton instance
@@ -34,7 +37,14 @@ public class WhiteNoiseView {
     private record Sound(String id, String name, String emoji, String gradient, String borderColor) {
     }
 
-    public void setUserId(int userId) { this.userId = userId; }
+    // Also loads that user's saved mixes
+    public void setUserId(int userId) {
+        this.userId = userId;
+        controller.loadSavedMixes(userId);
+    }
+
+    // Grid of saved mixes in the content shown last; refilled when the list changes
+    private GridPane savedMixesGrid;
 
     private final Sound[] SOUNDS = {
             new Sound("rain", "Rain", "🌧",
@@ -55,6 +65,7 @@ public class WhiteNoiseView {
     private WhiteNoiseView() {
         this.controller = WhiteNoiseController.getInstance();
         this.themeManager = ThemeManager.getInstance();
+        controller.getSavedMixes().addListener((ListChangeListener<MixRepository.Mix>) change -> fillSavedMixes());
     }
 
     public Node getContent() {
@@ -107,8 +118,9 @@ public class WhiteNoiseView {
         GridPane soundGrid = createSoundGrid();
         VBox nowPlaying = createNowPlayingSection();
         VBox presets = createPresetCombinations();
+        VBox savedMixes = createSavedMixes();
 
-        mainContent.getChildren().addAll(header, masterControls, soundGrid, nowPlaying, presets);
+        mainContent.getChildren().addAll(header, masterControls, soundGrid, nowPlaying, presets, savedMixes);
 
         ScrollPane scrollPane = new ScrollPane(mainContent);
         scrollPane.setFitToWidth(true);
@@ -531,6 +543,7 @@ public class WhiteNoiseView {
         button.setOnAction(e -> controller.setPresetSounds(soundIds, volumes));
 
         button.setOnMouseEntered(e -> {
+            controller.prewarm(Arrays.asList(soundIds)); // likely the next mix; open its tracks now
             button.setStyle("-fx-border-color: " + borderColor + "; " +
                     "-fx-background-color: " + borderColor + "30; " +
                     "-fx-background-radius: 20; " +
@@ -554,6 +567,77 @@ public class WhiteNoiseView {
         return button;
     }
 
+    private VBox createSavedMixes() {
+        VBox mixesCard = createCard("💾 My Mixes", 600);
+        VBox content = new VBox(14);
+        content.setPadding(new Insets(0, 20, 20, 20));
+        content.setAlignment(Pos.CENTER);
+
+        savedMixesGrid = new GridPane();
+        savedMixesGrid.setHgap(15);
+        savedMixesGrid.setVgap(15);
+        savedMixesGrid.setAlignment(Pos.CENTER);
+        fillSavedMixes();
+
+        Button saveButton = new Button("➕ Save Current Mix");
+        saveButton.setStyle("-fx-background-color: " + Pastel.LILAC + "; -fx-text-fill: white; -fx-background-radius: 20; " +
+                "-fx-padding: 8 16; -fx-font-weight: 600; -fx-cursor: hand;");
+        saveButton.disableProperty().bind(Bindings.createBooleanBinding(() -> controller.getPlayingCount() == 0,
+                Arrays.stream(SOUNDS)
+                        .map(sound -> controller.getPlaying().get(sound.id()))
+                        .filter(Objects::nonNull)
+                        .toArray(BooleanProperty[]::new)));
+        saveButton.setOnAction(e -> {
+            TextInputDialog dialog = new TextInputDialog();
+            dialog.setTitle("Save Mix");
+            dialog.setHeaderText("Name this mix");
+            dialog.setContentText("Name:");
+            dialog.showAndWait()
+                    .map(String::trim)
+                    .filter(name -> !name.isEmpty())
+                    .ifPresent(name -> controller.saveCurrentMix(name.length() > 60 ? name.substring(0, 60) : name));
+        });
+
+        content.getChildren().addAll(savedMixesGrid, saveButton);
+        mixesCard.getChildren().add(content);
+        return mixesCard;
+    }
+
+    private void fillSavedMixes() {
+        if (savedMixesGrid == null) {
+            return;
+        }
+        savedMixesGrid.getChildren().clear();
+
+        List<MixRepository.Mix> mixes = controller.getSavedMixes();
+        if (mixes.isEmpty()) {
+            Label empty = new Label("Play a few sounds and save them here as your own mix");
+            empty.setStyle("-fx-font-size: 12; -fx-text-fill: " + Pastel.SAGE + ";");
+            savedMixesGrid.add(empty, 0, 0);
+            return;
+        }
+
+        for (int i = 0; i < mixes.size(); i++) {
+            MixRepository.Mix mix = mixes.get(i);
+            String[] soundIds = mix.getVolumes().keySet().toArray(new String[0]);
+            double[] volumes = mix.getVolumes().values().stream().mapToDouble(Double::doubleValue).toArray();
+            String description = Arrays.stream(soundIds)
+                    .map(id -> Arrays.stream(SOUNDS).filter(s -> s.id().equals(id)).map(Sound::name).findFirst().orElse(id))
+                    .collect(Collectors.joining(" + "));
+
+            Button mixButton = createPresetButton("🎧 " + mix.getName(), description, soundIds, volumes, Pastel.LILAC);
+
+            Button deleteButton = new Button("✖");
+            deleteButton.setStyle("-fx-background-color: transparent; -fx-text-fill: " + Pastel.LOGOUT_RED + "; " +
+                    "-fx-font-size: 11; -fx-cursor: hand;");
+            deleteButton.setOnAction(e -> controller.deleteMix(mix));
+            StackPane.setAlignment(deleteButton, Pos.TOP_RIGHT);
+
+            StackPane holder = new StackPane(mixButton, deleteButton);
+            savedMixesGrid.add(holder, i % 2, i / 2);
+        }
+    }
+
     private VBox createCard(String title, double width) {
         VBox card = new VBox();
         card.setPrefWidth(width);
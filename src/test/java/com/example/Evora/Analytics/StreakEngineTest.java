@@ -0,0 +1,108 @@
+package com.example.Evora.Analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreakEngineTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    private static StreakEngine streaksOf(LocalDate... dates) {
+        StreakEngine streaks = new StreakEngine();
+        for (LocalDate date : dates) {
+            streaks.add(date);
+        }
+        return streaks;
+    }
+
+    @Test
+    void emptyHistoryHasNoStreaks() {
+        StreakEngine streaks = new StreakEngine();
+        assertEquals(0, streaks.getActiveDays());
+        assertEquals(0, streaks.getCurrentStreak(TODAY));
+        assertEquals(0, streaks.getLongestStreak());
+        assertFalse(streaks.isActive(TODAY));
+    }
+
+    @Test
+    void streakEndingTodayCountsEveryDayBackToTheGap() {
+        StreakEngine streaks = streaksOf(TODAY.minusDays(5), TODAY.minusDays(2), TODAY.minusDays(1), TODAY);
+        assertEquals(3, streaks.getCurrentStreak(TODAY));
+    }
+
+    @Test
+    void streakEndingYesterdayIsNotCurrentToday() {
+        StreakEngine streaks = streaksOf(TODAY.minusDays(3), TODAY.minusDays(2), TODAY.minusDays(1));
+        assertEquals(0, streaks.getCurrentStreak(TODAY));
+        assertEquals(3, streaks.getCurrentStreak(TODAY.minusDays(1)));
+        assertEquals(3, streaks.getLongestStreak());
+    }
+
+    @Test
+    void brokenStreakOnlyCountsTheRunAfterTheGap() {
+        StreakEngine streaks = streaksOf(TODAY.minusDays(10), TODAY.minusDays(9), TODAY.minusDays(8),
+                TODAY.minusDays(1), TODAY);
+        assertEquals(2, streaks.getCurrentStreak(TODAY));
+        assertEquals(3, streaks.getLongestStreak());
+        assertEquals(5, streaks.getActiveDays());
+    }
+
+    @Test
+    void duplicateDaysCountOnce() {
+        StreakEngine streaks = streaksOf(TODAY, TODAY, TODAY.minusDays(1), TODAY.minusDays(1), TODAY);
+        assertEquals(2, streaks.getActiveDays());
+        assertEquals(2, streaks.getCurrentStreak(TODAY));
+        assertEquals(2, streaks.getLongestStreak());
+    }
+
+    @Test
+    void daysAddedOutOfOrderGiveTheSameAnswers() {
+        StreakEngine streaks = streaksOf(TODAY, TODAY.minusDays(2), TODAY.minusDays(1), TODAY.minusDays(30));
+        assertEquals(3, streaks.getCurrentStreak(TODAY));
+        assertEquals(4, streaks.getActiveDays());
+        assertTrue(streaks.isActive(TODAY.minusDays(30)));
+        assertFalse(streaks.isActive(TODAY.minusDays(31)));
+    }
+
+    @Test
+    void streakRunsAcrossTheYearBoundary() {
+        LocalDate newYear = LocalDate.of(2025, 1, 1);
+        StreakEngine streaks = streaksOf(LocalDate.of(2024, 12, 30), LocalDate.of(2024, 12, 31), newYear,
+                LocalDate.of(2025, 1, 2));
+        assertEquals(4, streaks.getCurrentStreak(LocalDate.of(2025, 1, 2)));
+        assertEquals(3, streaks.getCurrentStreak(newYear));
+    }
+
+    @Test
+    void streakRunsAcrossTheLeapDay() {
+        StreakEngine streaks = streaksOf(LocalDate.of(2024, 2, 28), LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 1));
+        assertEquals(3, streaks.getCurrentStreak(LocalDate.of(2024, 3, 1)));
+
+        // 2023 has no Feb 29, so Feb 28 -> Mar 1 is consecutive there
+        StreakEngine nonLeap = streaksOf(LocalDate.of(2023, 2, 28), LocalDate.of(2023, 3, 1));
+        assertEquals(2, nonLeap.getCurrentStreak(LocalDate.of(2023, 3, 1)));
+    }
+
+    @Test
+    void tenYearsOfDailyActivity() {
+        LocalDate start = TODAY.minusYears(10);
+        LocalDate gap = start.plusYears(3);
+        StreakEngine streaks = new StreakEngine();
+        int days = 0;
+        for (LocalDate day = start; !day.isAfter(TODAY); day = day.plusDays(1)) {
+            if (!day.equals(gap)) {
+                streaks.add(day);
+                days++;
+            }
+        }
+
+        int beforeGap = (int) (gap.toEpochDay() - start.toEpochDay());
+        int afterGap = (int) (TODAY.toEpochDay() - gap.toEpochDay());
+        assertEquals(days, streaks.getActiveDays());
+        assertEquals(afterGap, streaks.getCurrentStreak(TODAY));
+        assertEquals(Math.max(beforeGap, afterGap), streaks.getLongestStreak());
+    }
+}
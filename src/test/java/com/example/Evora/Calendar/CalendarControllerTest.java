@@ -0,0 +1,147 @@
+package com.example.Evora.Calendar;
+
+import com.example.Evora.ToDoList.TaskRepository;
+import com.example.Evora.ToDoList.Todo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalendarControllerTest {
+
+    private static final int TASKS = 10_000;
+    private static final LocalDate FIRST_DUE = LocalDate.of(2026, 1, 1);
+    private static final int DAYS = 365;
+
+    // The shared list is reset whenever the user changes, so each test gets its own
+    private static int nextUserId = 1_000_000;
+
+    private List<Todo> shared;
+    private int userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = nextUserId++;
+        shared = TaskRepository.getDatedTasks(userId);
+    }
+
+    // No month loader: the shared list is filled by the test, never from the database
+    private CalendarController calendar() {
+        return new CalendarController(userId, month -> { });
+    }
+
+    // Task i is due FIRST_DUE + i % DAYS, so every day of 2026 has 27 or 28 tasks
+    private static List<Todo> tasks(int from, int to) {
+        List<Todo> tasks = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            tasks.add(new Todo(String.valueOf(i), "Task " + i, i % 3 == 0, "medium",
+                    FIRST_DUE.plusDays(i % DAYS).toString()));
+        }
+        return tasks;
+    }
+
+    private static int expectedOn(LocalDate day) {
+        int offset = (int) (day.toEpochDay() - FIRST_DUE.toEpochDay());
+        return TASKS / DAYS + (offset < TASKS % DAYS ? 1 : 0);
+    }
+
+    @Test
+    void tenThousandTasksAreGroupedByDueDay() {
+        shared.addAll(tasks(0, TASKS));
+        CalendarController controller = calendar();
+
+        YearMonth march = YearMonth.of(2026, 3);
+        NavigableMap<LocalDate, List<Todo>> days = controller.getTodosBetween(march.atDay(1), march.atEndOfMonth());
+
+        assertEquals(31, days.size());
+        assertEquals(march.atDay(1), days.firstKey());
+        assertEquals(march.atEndOfMonth(), days.lastKey());
+        for (Map.Entry<LocalDate, List<Todo>> day : days.entrySet()) {
+            assertEquals(expectedOn(day.getKey()), day.getValue().size(), day.getKey().toString());
+            for (Todo todo : day.getValue()) {
+                assertEquals(day.getKey().toString(), todo.getDueDate());
+            }
+        }
+    }
+
+    @Test
+    void tasksAddedAfterwardsAreIndexedToo() {
+        shared.addAll(tasks(0, TASKS / 2));
+        CalendarController controller = calendar();
+        shared.addAll(tasks(TASKS / 2, TASKS));
+
+        int total = 0;
+        for (List<Todo> day : controller.getTodosBetween(FIRST_DUE, FIRST_DUE.plusDays(DAYS - 1)).values()) {
+            total += day.size();
+        }
+        assertEquals(TASKS, total);
+        assertTrue(controller.getTodosBetween(FIRST_DUE.minusDays(30), FIRST_DUE.minusDays(1)).isEmpty());
+    }
+
+    @Test
+    void removedTasksLeaveTheirDay() {
+        shared.addAll(tasks(0, TASKS));
+        CalendarController controller = calendar();
+
+        LocalDate day = FIRST_DUE.plusDays(10);
+        shared.removeIf(t -> t.getDue().equals(day));
+
+        assertTrue(controller.getTodosForDate(day).isEmpty());
+        assertFalse(controller.getTodosBetween(day, day).containsKey(day));
+        assertEquals(expectedOn(day.plusDays(1)), controller.getTodosForDate(day.plusDays(1)).size());
+    }
+
+    @Test
+    void monthsAroundTheGridRedrawWhenTheyLoad() {
+        CalendarController controller = calendar();
+        int[] redraws = {0};
+        controller.setOnContentChange(() -> redraws[0]++);
+        YearMonth current = YearMonth.from(controller.getCurrentDate());
+
+        TaskRepository.getLoadedMonths().add(current.minusMonths(1)); // its last week is in the grid
+        assertEquals(1, redraws[0]);
+        TaskRepository.getLoadedMonths().add(current.plusMonths(1)); // so are its first two weeks
+        assertEquals(2, redraws[0]);
+        TaskRepository.getLoadedMonths().add(current.minusMonths(2)); // a prefetch, nothing to draw
+        TaskRepository.getLoadedMonths().add(current.plusMonths(2));
+        assertEquals(2, redraws[0]);
+    }
+
+    @Test
+    void datesAreParsedOnceWhenIndexed() {
+        shared.addAll(tasks(0, TASKS));
+        CalendarController controller = calendar();
+
+        // Indexing parsed each due date once; asking again hands back the cached LocalDate
+        for (Map.Entry<LocalDate, List<Todo>> day
+                : controller.getTodosBetween(FIRST_DUE, FIRST_DUE.plusDays(DAYS - 1)).entrySet()) {
+            for (Todo todo : day.getValue()) {
+                assertSame(todo.getDue(), todo.getDue());
+                assertEquals(day.getKey(), todo.getDue());
+            }
+        }
+
+        // A year of month grids (first - 7 .. end + 14), drawn 100 times over
+        assertTimeout(Duration.ofSeconds(2), () -> {
+            for (int round = 0; round < 100; round++) {
+                for (int m = 1; m <= 12; m++) {
+                    YearMonth month = YearMonth.of(2026, m);
+                    int cells = 0;
+                    for (List<Todo> dayTodos : controller.getTodosBetween(
+                            month.atDay(1).minusDays(7), month.atEndOfMonth().plusDays(14)).values()) {
+                        cells += dayTodos.size();
+                    }
+                    assertTrue(cells > 0);
+                }
+            }
+        });
+    }
+}
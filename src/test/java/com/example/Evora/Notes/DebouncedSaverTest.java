@@ -0,0 +1,128 @@
+package com.example.Evora.Notes;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DebouncedSaverTest {
+
+    // Stands in for the PauseTransition: only runs out when the test says so
+    private static class ManualTimer implements DebouncedSaver.Timer {
+        final Runnable onElapsed;
+        boolean running = false;
+
+        ManualTimer(Runnable onElapsed) {
+            this.onElapsed = onElapsed;
+        }
+
+        public void restart() { running = true; }
+        public void stop() { running = false; }
+        public boolean isRunning() { return running; }
+
+        void elapse() {
+            if (running) {
+                running = false;
+                onElapsed.run();
+            }
+        }
+    }
+
+    private ManualTimer timer;
+    private final List<String> written = new ArrayList<>();
+    private final List<Consumer<Boolean>> inFlight = new ArrayList<>();
+    private DebouncedSaver<String> saver;
+
+    @BeforeEach
+    void setUp() {
+        saver = new DebouncedSaver<>("", task -> timer = new ManualTimer(task), (value, done) -> {
+            written.add(value);
+            inFlight.add(done);
+        }, status -> {});
+    }
+
+    private void finishWrite(boolean saved) {
+        inFlight.remove(0).accept(saved);
+    }
+
+    @Test
+    void burstOfTypingIsOneWrite() {
+        for (String text : new String[]{"h", "he", "hel", "hell", "hello"}) {
+            saver.changed(text);
+        }
+        assertTrue(written.isEmpty(), "nothing is written inside the quiet period");
+
+        timer.elapse();
+        finishWrite(true);
+
+        assertEquals(List.of("hello"), written);
+        assertFalse(saver.isDirty());
+    }
+
+    @Test
+    void editDuringSaveIsOneMoreWrite() {
+        saver.changed("first");
+        timer.elapse();
+        assertEquals(1, written.size());
+
+        saver.changed("first and more");
+        saver.changed("first and more text");
+        timer.elapse(); // quiet period ends while the first write is still in flight
+        assertEquals(1, written.size(), "writes never overlap");
+
+        finishWrite(true);
+        assertEquals(List.of("first", "first and more text"), written);
+
+        finishWrite(true);
+        assertEquals(2, written.size());
+        assertFalse(saver.isDirty());
+    }
+
+    @Test
+    void editDuringSaveWaitsForItsOwnQuietPeriod() {
+        saver.changed("first");
+        timer.elapse();
+        saver.changed("second"); // timer running again when the first write returns
+        finishWrite(true);
+        assertEquals(1, written.size());
+
+        timer.elapse();
+        finishWrite(true);
+        assertEquals(List.of("first", "second"), written);
+    }
+
+    @Test
+    void typingBackToTheSavedTextWritesNothing() {
+        saver.changed("x");
+        saver.changed("");
+        timer.elapse();
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    void failedWriteStaysDirtyAndNextEditRetries() {
+        saver.changed("text");
+        timer.elapse();
+        finishWrite(false);
+        assertTrue(saver.isDirty());
+
+        saver.changed("text!");
+        timer.elapse();
+        finishWrite(true);
+        assertEquals(List.of("text", "text!"), written);
+        assertFalse(saver.isDirty());
+    }
+
+    @Test
+    void cancelDropsPendingWrite() {
+        saver.changed("text");
+        saver.cancel();
+        timer.elapse();
+        saver.saveNow();
+        assertTrue(written.isEmpty());
+    }
+}